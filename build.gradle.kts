@@ -11,6 +11,13 @@ application {
     mainClass = "edu.kit.kastel.vads.compiler.Main"
 }
 
+val jmh: SourceSet by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output
+    runtimeClasspath += sourceSets.main.get().output
+}
+
+configurations[jmh.implementationConfigurationName].extendsFrom(configurations.implementation.get())
+
 repositories {
     mavenCentral()
 }
@@ -19,6 +26,8 @@ dependencies {
     implementation("org.jspecify:jspecify:1.0.0")
     testImplementation(platform("org.junit:junit-bom:5.10.0"))
     testImplementation("org.junit.jupiter:junit-jupiter")
+    "jmhImplementation"("org.openjdk.jmh:jmh-core:1.37")
+    "jmhAnnotationProcessor"("org.openjdk.jmh:jmh-generator-annprocess:1.37")
 }
 
 java {
@@ -27,4 +36,20 @@ java {
 
 tasks.test {
     useJUnitPlatform()
-}
\ No newline at end of file
+}
+
+tasks.register<JavaExec>("jmh") {
+    description = "Runs the JMH benchmarks, JMH options can be passed with -PjmhArgs=\"...\""
+    group = "verification"
+    classpath = jmh.runtimeClasspath
+    mainClass = "org.openjdk.jmh.Main"
+    args(providers.gradleProperty("jmhArgs").getOrElse("").split(" ").filter { it.isNotBlank() })
+}
+
+tasks.register<JavaExec>("scalingReport") {
+    description = "Reports how each compiler phase scales with the program size, options can be passed with -PscalingArgs=\"...\""
+    group = "verification"
+    classpath = jmh.runtimeClasspath
+    mainClass = "edu.kit.kastel.vads.compiler.benchmark.ScalingReport"
+    args(providers.gradleProperty("scalingArgs").getOrElse("").split(" ").filter { it.isNotBlank() })
+}
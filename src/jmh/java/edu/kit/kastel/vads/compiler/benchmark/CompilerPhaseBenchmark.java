@@ -0,0 +1,110 @@
+package edu.kit.kastel.vads.compiler.benchmark;
+
+import edu.kit.kastel.vads.compiler.backend.aasm.AasmRegisterAllocator;
+import edu.kit.kastel.vads.compiler.backend.aasm.CodeGenerator;
+import edu.kit.kastel.vads.compiler.backend.regalloc.Register;
+import edu.kit.kastel.vads.compiler.ir.IrGraph;
+import edu.kit.kastel.vads.compiler.ir.SsaTranslation;
+import edu.kit.kastel.vads.compiler.ir.node.Node;
+import edu.kit.kastel.vads.compiler.ir.optimize.LocalValueNumbering;
+import edu.kit.kastel.vads.compiler.lexer.Lexer;
+import edu.kit.kastel.vads.compiler.lexer.Token;
+import edu.kit.kastel.vads.compiler.parser.Parser;
+import edu.kit.kastel.vads.compiler.parser.TokenSource;
+import edu.kit.kastel.vads.compiler.parser.ast.FunctionTree;
+import edu.kit.kastel.vads.compiler.parser.ast.ProgramTree;
+import edu.kit.kastel.vads.compiler.semantic.SemanticAnalysis;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/// Measures each phase of the compiler on its own, using the output of the previous phases as input.
+/// Together, the benchmarks give a per-phase baseline for the programs of the [Corpus].
+/// Allocation rates are reported when running with the GC profiler, e.g. `-PjmhArgs="CompilerPhase -prof gc"`.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CompilerPhaseBenchmark {
+
+    @Param
+    public Corpus corpus;
+
+    private String source;
+    private ProgramTree program;
+    private List<IrGraph> graphs;
+
+    @Setup
+    public void setup() {
+        this.source = this.corpus.source();
+        this.program = parse(this.source);
+        new SemanticAnalysis(this.program).analyze();
+        this.graphs = translate(this.program);
+    }
+
+    @Benchmark
+    public void lex(Blackhole blackhole) {
+        Lexer lexer = Lexer.forString(this.source);
+        Optional<Token> token;
+        while ((token = lexer.nextToken()).isPresent()) {
+            blackhole.consume(token.get());
+        }
+    }
+
+    @Benchmark
+    public ProgramTree parse() {
+        return parse(this.source);
+    }
+
+    @Benchmark
+    public void analyze() {
+        new SemanticAnalysis(this.program).analyze();
+    }
+
+    @Benchmark
+    public List<IrGraph> translate() {
+        return translate(this.program);
+    }
+
+    @Benchmark
+    public void allocateRegisters(Blackhole blackhole) {
+        for (IrGraph graph : this.graphs) {
+            Map<Node, Register> registers = new AasmRegisterAllocator().allocateRegisters(graph);
+            blackhole.consume(registers);
+        }
+    }
+
+    @Benchmark
+    public String generateCode() {
+        return new CodeGenerator().generateCode(this.graphs);
+    }
+
+    private static ProgramTree parse(String source) {
+        return new Parser(new TokenSource(Lexer.forString(source))).parseProgram();
+    }
+
+    private static List<IrGraph> translate(ProgramTree program) {
+        List<IrGraph> graphs = new ArrayList<>();
+        for (FunctionTree function : program.topLevelTrees()) {
+            graphs.add(new SsaTranslation(function, new LocalValueNumbering()).translate());
+        }
+        return graphs;
+    }
+}
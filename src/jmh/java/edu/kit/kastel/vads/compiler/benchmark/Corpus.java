@@ -0,0 +1,42 @@
+package edu.kit.kastel.vads.compiler.benchmark;
+
+/// Generated L programs the phase benchmarks run on.
+/// The programs come from a [ProgramGenerator] with fixed settings, seeded by their size,
+/// so they are the same in every run and results of different runs can be compared.
+///
+/// The [CodeGenerator][edu.kit.kastel.vads.compiler.backend.aasm.CodeGenerator] emits the code before
+/// a branch again for each branch, so only a few `if` and `while` statements are spread over each program.
+public enum Corpus {
+    SMALL(50),
+    MEDIUM(2_000),
+    HUGE(50_000),
+    ;
+
+    // the variables the statements read and assign
+    private static final int VARIABLES = 24;
+    // of each kind, on average
+    private static final double CONTROL_FLOW_STATEMENTS = 2;
+
+    private final int statements;
+
+    Corpus(int statements) {
+        this.statements = statements;
+    }
+
+    public int statements() {
+        return this.statements;
+    }
+
+    /// {@return the source of the program, a `main` function with about [#statements()] statements}
+    public String source() {
+        double controlFlow = Math.min(1, CONTROL_FLOW_STATEMENTS / this.statements);
+        return new ProgramGenerator()
+            .variables(VARIABLES)
+            .expressionDepth(1)
+            .loopNesting(1)
+            .ifDensity(controlFlow)
+            .whileDensity(controlFlow)
+            .seed(this.statements)
+            .generate(this.statements);
+    }
+}
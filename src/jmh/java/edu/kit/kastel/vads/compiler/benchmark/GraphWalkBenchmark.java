@@ -0,0 +1,64 @@
+package edu.kit.kastel.vads.compiler.benchmark;
+
+import edu.kit.kastel.vads.compiler.backend.aasm.CodeGenerator;
+import edu.kit.kastel.vads.compiler.ir.IrGraph;
+import edu.kit.kastel.vads.compiler.ir.SsaTranslation;
+import edu.kit.kastel.vads.compiler.ir.optimize.LocalValueNumbering;
+import edu.kit.kastel.vads.compiler.ir.util.GraphVizPrinter;
+import edu.kit.kastel.vads.compiler.ir.util.YCompPrinter;
+import edu.kit.kastel.vads.compiler.lexer.Lexer;
+import edu.kit.kastel.vads.compiler.parser.Parser;
+import edu.kit.kastel.vads.compiler.parser.TokenSource;
+import edu.kit.kastel.vads.compiler.parser.ast.ProgramTree;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/// Measures the walks over a whole IR graph, which visit the inputs of every node.
+/// Run with the GC profiler to see how much they allocate per walk, e.g. `-PjmhArgs="GraphWalk -prof gc"`.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+// the walks recurse along the inputs, which are deep on large graphs
+@Fork(value = 1, jvmArgsAppend = "-Xss256m")
+@State(Scope.Benchmark)
+public class GraphWalkBenchmark {
+
+    @Param({"MEDIUM", "HUGE"})
+    public Corpus corpus;
+
+    private IrGraph graph;
+
+    @Setup
+    public void setup() {
+        ProgramTree program = new Parser(new TokenSource(Lexer.forString(this.corpus.source()))).parseProgram();
+        this.graph = new SsaTranslation(program.topLevelTrees().getFirst(), new LocalValueNumbering()).translate();
+    }
+
+    @Benchmark
+    public String generateCode() {
+        return new CodeGenerator().generateCode(List.of(this.graph));
+    }
+
+    @Benchmark
+    public String printYComp() {
+        return YCompPrinter.print(this.graph);
+    }
+
+    @Benchmark
+    public String printGraphViz() {
+        return GraphVizPrinter.print(this.graph);
+    }
+}
@@ -0,0 +1,98 @@
+package edu.kit.kastel.vads.compiler.benchmark;
+
+import edu.kit.kastel.vads.compiler.lexer.KeywordType;
+import edu.kit.kastel.vads.compiler.lexer.Lexer;
+import edu.kit.kastel.vads.compiler.lexer.Token;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.foreign.MemorySegment;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/// Compares the keyword lookup of the [Lexer] against the former linear search over all keywords
+/// on a source that mostly consists of identifiers.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class KeywordLookupBenchmark {
+    private static final int WORDS = 100_000;
+
+    private String text;
+    private MemorySegment source;
+    private int[] offsets;
+    private int[] lengths;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(WORDS);
+        KeywordType[] keywords = KeywordType.values();
+        StringBuilder builder = new StringBuilder();
+        this.offsets = new int[WORDS];
+        this.lengths = new int[WORDS];
+        for (int i = 0; i < WORDS; i++) {
+            String word;
+            if (random.nextInt(5) == 0) {
+                word = keywords[random.nextInt(keywords.length)].keyword();
+            } else {
+                // identifiers that often share a prefix, the length or the first character with a keyword
+                word = keywords[random.nextInt(keywords.length)].keyword().substring(0, 1)
+                    + Integer.toString(random.nextInt(1 << 20), 36);
+            }
+            this.offsets[i] = builder.length();
+            this.lengths[i] = word.length();
+            builder.append(word).append(' ');
+        }
+        this.text = builder.toString();
+        this.source = MemorySegment.ofArray(this.text.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(WORDS)
+    public void perfectHash(Blackhole blackhole) {
+        for (int i = 0; i < WORDS; i++) {
+            blackhole.consume(KeywordType.lookup(this.source, this.offsets[i], this.lengths[i]));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(WORDS)
+    public void linearSearch(Blackhole blackhole) {
+        for (int i = 0; i < WORDS; i++) {
+            String id = this.text.substring(this.offsets[i], this.offsets[i] + this.lengths[i]);
+            KeywordType found = null;
+            for (KeywordType value : KeywordType.values()) {
+                if (value.keyword().equals(id)) {
+                    found = value;
+                    break;
+                }
+            }
+            blackhole.consume(found);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(WORDS)
+    public void lex(Blackhole blackhole) {
+        Lexer lexer = Lexer.forString(this.text);
+        Optional<Token> token;
+        while ((token = lexer.nextToken()).isPresent()) {
+            blackhole.consume(token.get());
+        }
+    }
+}
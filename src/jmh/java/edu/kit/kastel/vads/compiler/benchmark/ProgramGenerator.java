@@ -0,0 +1,242 @@
+package edu.kit.kastel.vads.compiler.benchmark;
+
+import java.util.Random;
+
+/// Generates random L programs of a given size, to find out how the compiler scales.
+/// The shape of the programs is controlled by the settings of the generator, which can be chained:
+/// ```java
+/// String source = new ProgramGenerator().loopNesting(3).ifDensity(0.2).generate(10_000);
+/// ```
+///
+/// The programs consist of a single `main` function. It first declares [#variables(int)] variables,
+/// which the remaining statements read and assign. Nested blocks declare fresh variables only,
+/// as the semantic analysis rejects assignments to variables of enclosing blocks.
+/// For the same reason, `for` loops and assignments in nested blocks are disabled by default,
+/// [#forDensity(double)] and [#nestedAssignments(boolean)] enable them once the analysis accepts them.
+/// The programs are meant to be compiled only, their loops do not necessarily terminate.
+public final class ProgramGenerator {
+    private static final String[] ARITHMETIC = {"+", "-", "*", "/", "%", "&", "|", "^", "<<", ">>"};
+    private static final String[] COMPARISONS = {"<", "<=", ">", ">=", "==", "!="};
+
+    private int expressionDepth = 2;
+    private int loopNesting = 2;
+    private int variables = 16;
+    private double ifDensity = 0.05;
+    private double whileDensity = 0.05;
+    private double forDensity = 0;
+    private double breakDensity = 0.1;
+    private double continueDensity = 0.1;
+    private boolean nestedAssignments = false;
+    private long seed = 0;
+
+    // state of the current generation
+    private Random random = new Random();
+    private StringBuilder source = new StringBuilder();
+    private int remaining;
+    private int locals;
+
+    /// Sets the maximum depth of generated expressions, a depth of zero only generates variables and literals.
+    public ProgramGenerator expressionDepth(int expressionDepth) {
+        this.expressionDepth = requireNonNegative(expressionDepth, "expressionDepth");
+        return this;
+    }
+
+    /// Sets how deep loops may be nested into each other.
+    /// Conditionals do not count, but can only be nested as deep as loops.
+    public ProgramGenerator loopNesting(int loopNesting) {
+        this.loopNesting = requireNonNegative(loopNesting, "loopNesting");
+        return this;
+    }
+
+    /// Sets the number of variables declared at the start of `main`.
+    public ProgramGenerator variables(int variables) {
+        if (variables < 1) {
+            throw new IllegalArgumentException("at least one variable is needed, got " + variables);
+        }
+        this.variables = variables;
+        return this;
+    }
+
+    /// Sets the probability that a statement is an `if`.
+    public ProgramGenerator ifDensity(double ifDensity) {
+        this.ifDensity = requireProbability(ifDensity, "ifDensity");
+        return this;
+    }
+
+    /// Sets the probability that a statement is a `while` loop.
+    public ProgramGenerator whileDensity(double whileDensity) {
+        this.whileDensity = requireProbability(whileDensity, "whileDensity");
+        return this;
+    }
+
+    /// Sets the probability that a statement is a `for` loop.
+    public ProgramGenerator forDensity(double forDensity) {
+        this.forDensity = requireProbability(forDensity, "forDensity");
+        return this;
+    }
+
+    /// Sets the probability that a statement inside of a loop is a `break`.
+    public ProgramGenerator breakDensity(double breakDensity) {
+        this.breakDensity = requireProbability(breakDensity, "breakDensity");
+        return this;
+    }
+
+    /// Sets the probability that a statement inside of a loop is a `continue`.
+    public ProgramGenerator continueDensity(double continueDensity) {
+        this.continueDensity = requireProbability(continueDensity, "continueDensity");
+        return this;
+    }
+
+    /// Sets whether nested blocks assign to the variables declared at the start of `main`.
+    public ProgramGenerator nestedAssignments(boolean nestedAssignments) {
+        this.nestedAssignments = nestedAssignments;
+        return this;
+    }
+
+    public ProgramGenerator seed(long seed) {
+        this.seed = seed;
+        return this;
+    }
+
+    /// {@return a program with about the given number of statements, including the declarations}
+    public String generate(int statements) {
+        this.random = new Random(this.seed);
+        this.source = new StringBuilder(statements * 32);
+        this.remaining = Math.max(statements, this.variables) - this.variables;
+        this.locals = 0;
+        this.source.append("int main() {\n");
+        for (int i = 0; i < this.variables; i++) {
+            this.source.append("    int v").append(i).append(" = ");
+            if (i == 0) {
+                this.source.append(this.random.nextInt(1000));
+            } else {
+                intExpression(this.expressionDepth, i);
+            }
+            this.source.append(";\n");
+        }
+        while (this.remaining > 0) {
+            statement(1, 0, true);
+        }
+        this.source.append("    return ");
+        intExpression(this.expressionDepth, this.variables);
+        this.source.append(";\n}\n");
+        return this.source.toString();
+    }
+
+    private void statement(int indent, int loops, boolean topLevel) {
+        this.remaining--;
+        this.source.repeat("    ", indent);
+        double choice = this.random.nextDouble();
+        boolean nested = loops < this.loopNesting;
+        if (nested && (choice -= this.ifDensity) < 0) {
+            this.source.append("if (");
+            boolExpression(this.expressionDepth);
+            this.source.append(") ");
+            block(indent, loops);
+            if (this.random.nextBoolean()) {
+                this.source.append(" else ");
+                block(indent, loops);
+            }
+        } else if (nested && (choice -= this.whileDensity) < 0) {
+            this.source.append("while (");
+            boolExpression(this.expressionDepth);
+            this.source.append(") ");
+            block(indent, loops + 1);
+        } else if (nested && (choice -= this.forDensity) < 0) {
+            int counter = this.locals++;
+            this.source.append("for (int l").append(counter).append(" = 0; l").append(counter).append(" < ");
+            intExpression(this.expressionDepth, this.variables);
+            this.source.append("; l").append(counter).append(" += 1) ");
+            block(indent, loops + 1);
+        } else if (loops > 0 && (choice -= this.breakDensity) < 0) {
+            this.source.append("break;");
+        } else if (loops > 0 && (choice -= this.continueDensity) < 0) {
+            this.source.append("continue;");
+        } else if (topLevel || this.nestedAssignments && this.random.nextBoolean()) {
+            this.source.append('v').append(this.random.nextInt(this.variables)).append(' ')
+                .append(ARITHMETIC[this.random.nextInt(ARITHMETIC.length)]).append("= ");
+            intExpression(this.expressionDepth, this.variables);
+            this.source.append(';');
+        } else {
+            // the names of variables in nested blocks must be unique in the whole function
+            this.source.append("int l").append(this.locals++).append(" = ");
+            intExpression(this.expressionDepth, this.variables);
+            this.source.append(';');
+        }
+        this.source.append('\n');
+    }
+
+    private void block(int indent, int loops) {
+        this.source.append("{\n");
+        // blocks get a few statements each, so nesting does not use up all statements at once
+        int statements = 1 + this.random.nextInt(4);
+        for (int i = 0; i < statements && this.remaining > 0; i++) {
+            statement(indent + 1, loops, false);
+        }
+        this.source.repeat("    ", indent).append('}');
+    }
+
+    /// Generates an expression of type `int` that reads the first `visible` variables.
+    private void intExpression(int depth, int visible) {
+        int choice = depth == 0 ? this.random.nextInt(2) : this.random.nextInt(5);
+        switch (choice) {
+            case 0 -> this.source.append('v').append(this.random.nextInt(visible));
+            case 1 -> {
+                if (this.random.nextBoolean()) {
+                    this.source.append(this.random.nextInt(1000));
+                } else {
+                    this.source.append("0x").append(Integer.toHexString(this.random.nextInt()));
+                }
+            }
+            case 2 -> {
+                this.source.append("-(");
+                intExpression(depth - 1, visible);
+                this.source.append(')');
+            }
+            default -> {
+                this.source.append('(');
+                intExpression(depth - 1, visible);
+                this.source.append(' ').append(ARITHMETIC[this.random.nextInt(ARITHMETIC.length)]).append(' ');
+                intExpression(depth - 1, visible);
+                this.source.append(')');
+            }
+        }
+    }
+
+    private void boolExpression(int depth) {
+        int choice = depth == 0 ? 0 : this.random.nextInt(4);
+        switch (choice) {
+            case 0 -> {
+                intExpression(Math.max(0, depth - 1), this.variables);
+                this.source.append(' ').append(COMPARISONS[this.random.nextInt(COMPARISONS.length)]).append(' ');
+                intExpression(Math.max(0, depth - 1), this.variables);
+            }
+            case 1 -> {
+                this.source.append("!(");
+                boolExpression(depth - 1);
+                this.source.append(')');
+            }
+            default -> {
+                this.source.append('(');
+                boolExpression(depth - 1);
+                this.source.append(choice == 2 ? " && " : " || ");
+                boolExpression(depth - 1);
+                this.source.append(')');
+            }
+        }
+    }
+
+    private static int requireNonNegative(int value, String name) {
+        if (value < 0) {
+            throw new IllegalArgumentException(name + " must not be negative, got " + value);
+        }
+        return value;
+    }
+
+    private static double requireProbability(double value, String name) {
+        if (value < 0 || value > 1) {
+            throw new IllegalArgumentException(name + " must be between 0 and 1, got " + value);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,119 @@
+package edu.kit.kastel.vads.compiler.benchmark;
+
+import edu.kit.kastel.vads.compiler.backend.aasm.GraphColoringRegisterAllocator;
+import edu.kit.kastel.vads.compiler.backend.aasm.LinearScanRegisterAllocator;
+import edu.kit.kastel.vads.compiler.backend.aasm.StackSlot;
+import edu.kit.kastel.vads.compiler.backend.regalloc.Register;
+import edu.kit.kastel.vads.compiler.backend.regalloc.RegisterAllocator;
+import edu.kit.kastel.vads.compiler.ir.IrGraph;
+import edu.kit.kastel.vads.compiler.ir.SsaTranslation;
+import edu.kit.kastel.vads.compiler.ir.node.Node;
+import edu.kit.kastel.vads.compiler.ir.optimize.LocalValueNumbering;
+import edu.kit.kastel.vads.compiler.lexer.Lexer;
+import edu.kit.kastel.vads.compiler.parser.Parser;
+import edu.kit.kastel.vads.compiler.parser.TokenSource;
+import edu.kit.kastel.vads.compiler.parser.ast.ProgramTree;
+import edu.kit.kastel.vads.compiler.semantic.SemanticAnalysis;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/// Compares the allocation time and the number of spilled values of the register allocators
+/// on a single large function with high register pressure.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RegisterAllocatorBenchmark {
+
+    @Param({"graph-coloring", "linear-scan"})
+    public String allocator;
+
+    @Param({"100", "1000", "10000"})
+    public int statements;
+
+    private Supplier<RegisterAllocator> allocators;
+    private IrGraph graph;
+
+    @Setup
+    public void setup() {
+        this.allocators = switch (this.allocator) {
+            case "graph-coloring" -> GraphColoringRegisterAllocator::new;
+            case "linear-scan" -> LinearScanRegisterAllocator::new;
+            default -> throw new IllegalArgumentException("unknown allocator " + this.allocator);
+        };
+        this.graph = translate(generate(this.statements, 32));
+    }
+
+    @Benchmark
+    public Map<Node, Register> allocate(Spills spills) {
+        Map<Node, Register> registers = this.allocators.get().allocateRegisters(this.graph);
+        spills.record(registers);
+        return registers;
+    }
+
+    /// Reports the number of values the last allocation spilled to the stack.
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Spills {
+        public long spilledValues;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            this.spilledValues = 0;
+        }
+
+        void record(Map<Node, Register> registers) {
+            this.spilledValues = registers.values().stream().filter(r -> r instanceof StackSlot).count();
+        }
+    }
+
+    /// Generates straight-line code where each value is computed from values up to `window` statements back,
+    /// so roughly `window` values are live at every point.
+    static String generate(int statements, int window) {
+        Random random = new Random(statements);
+        String[] operators = {"+", "-", "*", "&", "|", "^"};
+        StringBuilder source = new StringBuilder("int main() {\n");
+        for (int i = 0; i < statements; i++) {
+            source.append("    int v").append(i).append(" = ");
+            if (i < 2) {
+                source.append(random.nextInt(1000));
+            } else {
+                int left = Math.max(0, i - 1 - random.nextInt(window));
+                int right = Math.max(0, i - 1 - random.nextInt(window));
+                source.append('v').append(left)
+                    .append(' ').append(operators[random.nextInt(operators.length)]).append(' ')
+                    .append('v').append(right);
+            }
+            source.append(";\n");
+        }
+        source.append("    return v0");
+        for (int i = Math.max(1, statements - window); i < statements; i++) {
+            source.append(" + v").append(i);
+        }
+        return source.append(";\n}\n").toString();
+    }
+
+    static IrGraph translate(String source) {
+        ProgramTree program = new Parser(new TokenSource(Lexer.forString(source))).parseProgram();
+        new SemanticAnalysis(program).analyze();
+        return new SsaTranslation(program.topLevelTrees().getFirst(), new LocalValueNumbering()).translate();
+    }
+}
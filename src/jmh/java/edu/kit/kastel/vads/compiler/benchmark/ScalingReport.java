@@ -0,0 +1,211 @@
+package edu.kit.kastel.vads.compiler.benchmark;
+
+import edu.kit.kastel.vads.compiler.backend.aasm.CodeGenerator;
+import edu.kit.kastel.vads.compiler.ir.IrGraph;
+import edu.kit.kastel.vads.compiler.ir.SsaTranslation;
+import edu.kit.kastel.vads.compiler.ir.optimize.LocalValueNumbering;
+import edu.kit.kastel.vads.compiler.lexer.Lexer;
+import edu.kit.kastel.vads.compiler.parser.Parser;
+import edu.kit.kastel.vads.compiler.parser.TokenSource;
+import edu.kit.kastel.vads.compiler.parser.ast.FunctionTree;
+import edu.kit.kastel.vads.compiler.parser.ast.ProgramTree;
+import edu.kit.kastel.vads.compiler.semantic.SemanticAnalysis;
+import com.sun.management.ThreadMXBean;
+import org.jspecify.annotations.Nullable;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/// Compiles programs of the [ProgramGenerator] with doubling sizes and reports time, allocated memory
+/// and peak heap per phase as CSV, which can be plotted directly.
+/// The peak heap depends on the sizing of the garbage collector, the allocated memory does not.
+/// The `growth` column is the exponent `k` of `time ~ size^k` between a size and the previous one,
+/// so any phase that does not scale linearly stands out with a `k` noticeably above one.
+///
+/// Arguments are `key=value` pairs, the defaults are
+/// `from=1000 to=256000 repetitions=3 timeout=10`, with the timeout in seconds.
+/// The settings of the [ProgramGenerator] can be passed the same way, e.g. `loopNesting=3 ifDensity=0.1`.
+/// A phase that exceeds the timeout, also while warming up, is not run for larger sizes,
+/// the phases after it neither. The report ends once parsing times out.
+///
+/// Run with `./gradlew scalingReport -PscalingArgs="..."`.
+public final class ScalingReport {
+    private enum Phase {
+        PARSE, ANALYZE, TRANSLATE, GENERATE_CODE
+    }
+
+    // the parser and the code generator recurse deeply on large programs
+    private static final long STACK_SIZE = 1L << 30;
+    private static final double MIB = 1024.0 * 1024.0;
+    private static final ThreadMXBean THREADS = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final ProgramGenerator generator = new ProgramGenerator();
+    private int from = 1000;
+    private int to = 256_000;
+    private int repetitions = 3;
+    private long timeoutSeconds = 10;
+
+    // phases from this one on have timed out before and are not run anymore
+    private int timedOut = Phase.values().length;
+    private final Map<Phase, Double> previousMillis = new EnumMap<>(Phase.class);
+
+    private ScalingReport() {
+    }
+
+    public static void main(String[] args) {
+        ScalingReport report = new ScalingReport();
+        for (String arg : args) {
+            report.configure(arg);
+        }
+        report.run();
+    }
+
+    private void configure(String arg) {
+        int separator = arg.indexOf('=');
+        if (separator < 0) {
+            throw new IllegalArgumentException("expected key=value but got " + arg);
+        }
+        String value = arg.substring(separator + 1);
+        switch (arg.substring(0, separator)) {
+            case "from" -> this.from = Integer.parseInt(value);
+            case "to" -> this.to = Integer.parseInt(value);
+            case "repetitions" -> this.repetitions = Integer.parseInt(value);
+            case "timeout" -> this.timeoutSeconds = Long.parseLong(value);
+            case "expressionDepth" -> this.generator.expressionDepth(Integer.parseInt(value));
+            case "loopNesting" -> this.generator.loopNesting(Integer.parseInt(value));
+            case "variables" -> this.generator.variables(Integer.parseInt(value));
+            case "ifDensity" -> this.generator.ifDensity(Double.parseDouble(value));
+            case "whileDensity" -> this.generator.whileDensity(Double.parseDouble(value));
+            case "forDensity" -> this.generator.forDensity(Double.parseDouble(value));
+            case "breakDensity" -> this.generator.breakDensity(Double.parseDouble(value));
+            case "continueDensity" -> this.generator.continueDensity(Double.parseDouble(value));
+            case "nestedAssignments" -> this.generator.nestedAssignments(Boolean.parseBoolean(value));
+            case "seed" -> this.generator.seed(Long.parseLong(value));
+            default -> throw new IllegalArgumentException("unknown setting " + arg);
+        }
+    }
+
+    private void run() {
+        // warm up the JIT on the smallest size, so the first rows are not dominated by the interpreter
+        System.out.println("statements,bytes,phase,millis,allocatedMiB,peakHeapMiB,growth");
+        String smallest = this.generator.generate(this.from);
+        for (int i = 0; i < 5; i++) {
+            compile(new Row(this.from, smallest.length(), 1, false), smallest);
+        }
+        for (int statements = this.from; statements <= this.to && this.timedOut > 0; statements *= 2) {
+            String source = this.generator.generate(statements);
+            compile(new Row(statements, source.length(), this.repetitions, true), source);
+        }
+    }
+
+    /// Runs the phases that did not time out yet on the given source, each phase on the result of the previous one.
+    private void compile(Row row, String source) {
+        ProgramTree program = measure(Phase.PARSE, row, () -> parse(source));
+        if (program == null) {
+            return;
+        }
+        Boolean analyzed = measure(Phase.ANALYZE, row, () -> {
+            new SemanticAnalysis(program).analyze();
+            return true;
+        });
+        if (analyzed == null) {
+            return;
+        }
+        List<IrGraph> graphs = measure(Phase.TRANSLATE, row, () -> translate(program));
+        if (graphs == null) {
+            return;
+        }
+        measure(Phase.GENERATE_CODE, row, () -> new CodeGenerator().generateCode(graphs));
+    }
+
+    /// Runs the given phase on a fresh thread, so it can be abandoned when it does not finish in time.
+    /// {@return the result of the phase, or `null` if it timed out now or before}
+    private <T> @Nullable T measure(Phase phase, Row row, Supplier<T> action) {
+        if (phase.ordinal() >= this.timedOut) {
+            return null;
+        }
+        List<MemoryPoolMXBean> pools = heapPools();
+        T result = null;
+        long best = Long.MAX_VALUE;
+        long allocated = 0;
+        long peak = 0;
+        for (int i = 0; i < row.repetitions(); i++) {
+            System.gc();
+            pools.forEach(MemoryPoolMXBean::resetPeakUsage);
+            long[] allocatedByPhase = new long[1];
+            FutureTask<T> task = new FutureTask<>(() -> {
+                long before = THREADS.getCurrentThreadAllocatedBytes();
+                T value = action.get();
+                allocatedByPhase[0] = THREADS.getCurrentThreadAllocatedBytes() - before;
+                return value;
+            });
+            Thread thread = new Thread(null, task, "scaling-report-" + phase, STACK_SIZE);
+            // a phase that does not finish must not keep the report from exiting
+            thread.setDaemon(true);
+            long start = System.nanoTime();
+            thread.start();
+            try {
+                result = task.get(this.timeoutSeconds, TimeUnit.SECONDS);
+            } catch (TimeoutException _) {
+                thread.interrupt();
+                this.timedOut = phase.ordinal();
+                System.out.printf(Locale.ROOT, "%d,%d,%s,timeout,,,%n", row.statements(), row.bytes(), phase);
+                return null;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException(phase + " failed", e.getCause());
+            }
+            best = Math.min(best, System.nanoTime() - start);
+            allocated = allocatedByPhase[0];
+            peak = Math.max(peak, pools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum());
+        }
+        if (row.report()) {
+            double millis = best / 1e6;
+            Double previous = this.previousMillis.put(phase, millis);
+            // sizes double from row to row, so the exponent is the base 2 logarithm of the ratio
+            String growth = previous == null ? "" : String.format(Locale.ROOT, "%.2f", Math.log(millis / previous) / Math.log(2));
+            System.out.printf(Locale.ROOT, "%d,%d,%s,%.3f,%.1f,%.1f,%s%n",
+                row.statements(), row.bytes(), phase, millis, allocated / MIB, peak / MIB, growth);
+        }
+        return result;
+    }
+
+    private static List<MemoryPoolMXBean> heapPools() {
+        List<MemoryPoolMXBean> pools = new ArrayList<>();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pools.add(pool);
+            }
+        }
+        return pools;
+    }
+
+    private static ProgramTree parse(String source) {
+        return new Parser(new TokenSource(Lexer.forString(source))).parseProgram();
+    }
+
+    private static List<IrGraph> translate(ProgramTree program) {
+        List<IrGraph> graphs = new ArrayList<>();
+        for (FunctionTree function : program.topLevelTrees()) {
+            graphs.add(new SsaTranslation(function, new LocalValueNumbering()).translate());
+        }
+        return graphs;
+    }
+
+    /// The size of a program and how to measure it, rows that are not reported only warm up the JIT.
+    private record Row(int statements, int bytes, int repetitions, boolean report) {
+    }
+}
@@ -0,0 +1,60 @@
+package edu.kit.kastel.vads.compiler.benchmark;
+
+import edu.kit.kastel.vads.compiler.lexer.Lexer;
+import edu.kit.kastel.vads.compiler.lexer.TokenBuffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/// Measures lexing of sources that mostly consist of whitespace or comments,
+/// where skipping them dominates the time of the [Lexer].
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SkipWhitespaceBenchmark {
+    private static final int STATEMENTS = 10_000;
+
+    @Param({"whitespace", "line-comments", "block-comments"})
+    public String input;
+
+    private String source;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(STATEMENTS);
+        StringBuilder builder = new StringBuilder("int main() {\n");
+        for (int i = 0; i < STATEMENTS; i++) {
+            switch (this.input) {
+                case "whitespace" -> builder.repeat(' ', random.nextInt(64)).append('\t')
+                    .repeat("\n", 1 + random.nextInt(3)).repeat(' ', random.nextInt(16));
+                case "line-comments" -> builder.append("    // ")
+                    .repeat("comment text ", 1 + random.nextInt(8)).append('\n');
+                case "block-comments" -> builder.append("    /* ")
+                    .repeat("comment text ", 1 + random.nextInt(4)).append("/* nested */ ")
+                    .repeat("* more text\n", 1 + random.nextInt(4)).append("*/\n");
+                default -> throw new IllegalArgumentException("unknown input " + this.input);
+            }
+            builder.append("    int v").append(i).append(" = ").append(i).append(";\n");
+        }
+        this.source = builder.append("    return 0;\n}\n").toString();
+    }
+
+    @Benchmark
+    public TokenBuffer tokenize() {
+        return Lexer.forString(this.source).tokenize();
+    }
+}
@@ -0,0 +1,58 @@
+package edu.kit.kastel.vads.compiler;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+
+/// Searches bytes in a [MemorySegment] eight at a time.
+/// A little endian `long` is read from the segment and all its bytes are compared
+/// at once using plain arithmetic (SWAR), so the first byte of the segment is the lowest one of the word.
+public final class Bytes {
+    public static final ValueLayout.OfLong WORD = ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final long LOW_BITS = 0x0101010101010101L;
+    private static final long HIGH_BITS = 0x8080808080808080L;
+
+    private Bytes() {
+
+    }
+
+    /// {@return the offset of the first `a` or `b` at or after `from`, or the size of the segment if there is none}
+    public static long find(MemorySegment segment, long from, char a, char b) {
+        long size = segment.byteSize();
+        long i = from;
+        while (i + Long.BYTES <= size) {
+            long word = segment.get(WORD, i);
+            long found = equal(word, a) | equal(word, b);
+            if (found != 0) {
+                return i + firstByte(found);
+            }
+            i += Long.BYTES;
+        }
+        while (i < size) {
+            byte c = segment.get(ValueLayout.JAVA_BYTE, i);
+            if (c == a || c == b) {
+                return i;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    /// {@return a word with the highest bit set in each byte of `word` that equals `c`, and all other bits clear}
+    public static long equal(long word, char c) {
+        long x = word ^ (LOW_BITS * c);
+        // the highest bit of a byte is set iff the byte is not zero, without carries into the next byte
+        long nonZero = ((x & ~HIGH_BITS) + ~HIGH_BITS | x) & HIGH_BITS;
+        return nonZero ^ HIGH_BITS;
+    }
+
+    /// {@return a word with the highest bit set in each byte that is clear in `matches`}
+    public static long not(long matches) {
+        return ~matches & HIGH_BITS;
+    }
+
+    /// {@return the index of the lowest byte with its highest bit set in a non-zero result of [#equal]}
+    public static int firstByte(long matches) {
+        return Long.numberOfTrailingZeros(matches) >>> 3;
+    }
+}
@@ -0,0 +1,48 @@
+package edu.kit.kastel.vads.compiler;
+
+import java.lang.foreign.MemorySegment;
+import java.util.Arrays;
+
+/// Maps byte offsets in a source to lines and columns.
+/// The start offsets of all lines are collected once, lookups use binary search.
+/// Both `\n` and `\r` start a new line.
+public final class LineIndex {
+    private final int[] lineStarts;
+
+    private LineIndex(int[] lineStarts) {
+        this.lineStarts = lineStarts;
+    }
+
+    public static LineIndex of(MemorySegment source) {
+        if (source.byteSize() > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("source is too large: " + source.byteSize() + " bytes");
+        }
+        int size = (int) source.byteSize();
+        int[] lineStarts = new int[16];
+        int lines = 1;
+        int i = (int) Bytes.find(source, 0, '\n', '\r');
+        while (i < size) {
+            if (lines == lineStarts.length) {
+                lineStarts = Arrays.copyOf(lineStarts, lines * 2);
+            }
+            lineStarts[lines++] = i + 1;
+            i = (int) Bytes.find(source, i + 1, '\n', '\r');
+        }
+        return new LineIndex(Arrays.copyOf(lineStarts, lines));
+    }
+
+    /// {@return the zero-based line the given offset is in}
+    public int line(int offset) {
+        int index = Arrays.binarySearch(this.lineStarts, offset);
+        // not found: the insertion point is the line after the one containing the offset
+        return index >= 0 ? index : -index - 2;
+    }
+
+    public int column(int offset) {
+        return offset - this.lineStarts[line(offset)];
+    }
+
+    public int lineCount() {
+        return this.lineStarts.length;
+    }
+}
@@ -1,9 +1,13 @@
 package edu.kit.kastel.vads.compiler;
 
 import edu.kit.kastel.vads.compiler.backend.aasm.CodeGenerator;
+import edu.kit.kastel.vads.compiler.backend.aasm.GraphColoringRegisterAllocator;
+import edu.kit.kastel.vads.compiler.backend.aasm.LinearScanRegisterAllocator;
+import edu.kit.kastel.vads.compiler.event.ParseEvent;
 import edu.kit.kastel.vads.compiler.ir.IrGraph;
 import edu.kit.kastel.vads.compiler.ir.SsaTranslation;
 import edu.kit.kastel.vads.compiler.ir.optimize.LocalValueNumbering;
+import edu.kit.kastel.vads.compiler.ir.optimize.PassManager;
 import edu.kit.kastel.vads.compiler.ir.util.YCompPrinter;
 import edu.kit.kastel.vads.compiler.lexer.Lexer;
 import edu.kit.kastel.vads.compiler.parser.ParseException;
@@ -14,6 +18,7 @@ import edu.kit.kastel.vads.compiler.parser.ast.ProgramTree;
 import edu.kit.kastel.vads.compiler.semantic.SemanticAnalysis;
 import edu.kit.kastel.vads.compiler.semantic.SemanticException;
 import java.io.IOException;
+import java.lang.foreign.Arena;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
@@ -27,19 +32,33 @@ public class Main {
         }
         Path input = Path.of(args[0]);
         Path output = Path.of(args[1]);
-        ProgramTree program = lexAndParse(input);
+        PhaseTimer timer = PhaseTimer.fromEnvironment();
+        ProgramTree program = timer.time("parse", () -> lexAndParse(input));
         try {
-            new SemanticAnalysis(program).analyze();
+            timer.time("semantic", () -> {
+                new SemanticAnalysis(program).analyze();
+                return program;
+            });
         } catch (SemanticException e) {
             e.printStackTrace();
             System.exit(7);
             return;
         }
-        List<IrGraph> graphs = new ArrayList<>();
-        for (FunctionTree function : program.topLevelTrees()) {
-            SsaTranslation translation = new SsaTranslation(function, new LocalValueNumbering());
-            graphs.add(translation.translate());
-        }
+        List<IrGraph> graphs = timer.time("ssa", () -> {
+            List<IrGraph> translated = new ArrayList<>();
+            for (FunctionTree function : program.topLevelTrees()) {
+                SsaTranslation translation = new SsaTranslation(function, new LocalValueNumbering());
+                translated.add(translation.translate());
+            }
+            return translated;
+        });
+        PassManager passes = PassManager.fromEnvironment();
+        timer.time("optimize", () -> {
+            for (IrGraph graph : graphs) {
+                passes.run(graph);
+            }
+            return graphs;
+        });
 
         if ("vcg".equals(System.getenv("DUMP_GRAPHS")) || "vcg".equals(System.getProperty("dumpGraphs"))) {
             Path tmp = output.toAbsolutePath().resolveSibling("graphs");
@@ -50,10 +69,25 @@ public class Main {
         }
 
         // generate assembly and invoke gcc instead of generating abstract assembly
-        String asm = new CodeGenerator().generateCode(graphs);
+        CodeGenerator codeGenerator;
+        if ("linear-scan".equals(System.getenv("REG_ALLOC")) || "linear-scan".equals(System.getProperty("regAlloc"))) {
+            codeGenerator = new CodeGenerator(LinearScanRegisterAllocator::new);
+        } else {
+            codeGenerator = new CodeGenerator(GraphColoringRegisterAllocator::new);
+        }
+        String asm = timer.time("codegen", () -> codeGenerator.generateCode(graphs));
         Path asmFile = output.resolveSibling(output.getFileName().toString() + ".s");
         Files.writeString(asmFile, asm);
 
+        timer.time("gcc", () -> {
+            assemble(asmFile, output);
+            return output;
+        });
+        timer.report(input.toString(), System.err);
+        passes.report(System.err);
+    }
+
+    private static void assemble(Path asmFile, Path output) throws IOException {
         Process gcc = new ProcessBuilder("gcc", "-no-pie", asmFile.toString(), "-o", output.toString())
             .inheritIO()
             .start();
@@ -71,11 +105,22 @@ public class Main {
     }
 
     private static ProgramTree lexAndParse(Path input) throws IOException {
-        try {
-            Lexer lexer = Lexer.forString(Files.readString(input));
+        // the tokens point into the mapped file, so it must stay open until parsing is done
+        try (Arena arena = Arena.ofConfined()) {
+            ParseEvent event = new ParseEvent();
+            event.begin();
+            Lexer lexer = Lexer.forFile(input, arena);
             TokenSource tokenSource = new TokenSource(lexer);
             Parser parser = new Parser(tokenSource);
-            return parser.parseProgram();
+            ProgramTree program = parser.parseProgram();
+            event.end();
+            if (event.shouldCommit()) {
+                event.file = input.toString();
+                event.tokens = tokenSource.tokenCount();
+                event.astNodes = program.treeCount();
+                event.commit();
+            }
+            return program;
         } catch (ParseException e) {
             e.printStackTrace();
             System.exit(42);
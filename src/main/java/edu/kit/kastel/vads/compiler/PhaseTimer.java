@@ -0,0 +1,155 @@
+package edu.kit.kastel.vads.compiler;
+
+import com.sun.management.ThreadMXBean;
+import org.jspecify.annotations.Nullable;
+
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/// Measures wall time, CPU time and allocated bytes of the phases of the compiler.
+/// It is enabled by setting the `TIME_PHASES` environment variable to `text` or `json`, or by passing
+/// `-DtimePhases=text` or `-DtimePhases=json` to the compiler as a JVM argument.
+///
+/// CPU time and allocations are only counted for the thread running the compiler,
+/// e.g. not for `gcc` which runs in its own process.
+/// They are reported as `-1` if the JVM does not support measuring them.
+public final class PhaseTimer {
+    private static final ThreadMXBean THREADS = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final @Nullable Format format;
+    private final List<Measurement> measurements = new ArrayList<>();
+
+    private PhaseTimer(@Nullable Format format) {
+        this.format = format;
+    }
+
+    /// {@return a timer configured by the `TIME_PHASES` environment variable or the `timePhases` system property}
+    public static PhaseTimer fromEnvironment() {
+        String value = System.getProperty("timePhases", System.getenv("TIME_PHASES"));
+        if (value == null) {
+            return new PhaseTimer(null);
+        }
+        return switch (value) {
+            case "text" -> new PhaseTimer(Format.TEXT);
+            case "json" -> new PhaseTimer(Format.JSON);
+            default -> throw new IllegalArgumentException("unknown time format '" + value + "', expected text or json");
+        };
+    }
+
+    /// Runs the given phase and records its cost if the timer is enabled.
+    public <T, E extends Exception> T time(String phase, Phase<T, E> action) throws E {
+        if (this.format == null) {
+            return action.run();
+        }
+        long cpu = cpuTime();
+        long allocated = allocatedBytes();
+        long start = System.nanoTime();
+        T result = action.run();
+        long wall = System.nanoTime() - start;
+        this.measurements.add(new Measurement(phase, wall,
+            cpu < 0 ? -1 : cpuTime() - cpu,
+            allocated < 0 ? -1 : allocatedBytes() - allocated));
+        return result;
+    }
+
+    /// Prints the recorded phases of compiling the given file, if the timer is enabled.
+    public void report(String file, PrintStream out) {
+        if (this.format == null) {
+            return;
+        }
+        Measurement total = total();
+        switch (this.format) {
+            case TEXT -> {
+                out.printf(Locale.ROOT, "%-16s %12s %12s %14s%n", "phase", "wall ms", "cpu ms", "allocated KiB");
+                for (Measurement measurement : this.measurements) {
+                    out.println(measurement.text());
+                }
+                out.println(total.text());
+            }
+            case JSON -> {
+                // a single line, so it can be picked out of the other output of the compiler
+                StringBuilder json = new StringBuilder("{\"file\":");
+                appendString(json, file);
+                json.append(",\"phases\":[");
+                for (int i = 0; i < this.measurements.size(); i++) {
+                    if (i > 0) {
+                        json.append(',');
+                    }
+                    this.measurements.get(i).appendJson(json);
+                }
+                json.append("],\"total\":");
+                total.appendJson(json);
+                out.println(json.append('}'));
+            }
+        }
+    }
+
+    private Measurement total() {
+        long wall = 0;
+        long cpu = 0;
+        long allocated = 0;
+        for (Measurement measurement : this.measurements) {
+            wall += measurement.wallNanos();
+            cpu = cpu < 0 || measurement.cpuNanos() < 0 ? -1 : cpu + measurement.cpuNanos();
+            allocated = allocated < 0 || measurement.allocatedBytes() < 0 ? -1 : allocated + measurement.allocatedBytes();
+        }
+        return new Measurement("total", wall, cpu, allocated);
+    }
+
+    private static long cpuTime() {
+        return THREADS.isCurrentThreadCpuTimeSupported() ? THREADS.getCurrentThreadCpuTime() : -1;
+    }
+
+    private static long allocatedBytes() {
+        return THREADS.isThreadAllocatedMemorySupported() ? THREADS.getCurrentThreadAllocatedBytes() : -1;
+    }
+
+    private static void appendString(StringBuilder json, String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                default -> {
+                    if (c < 0x20) {
+                        json.append(String.format(Locale.ROOT, "\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+        json.append('"');
+    }
+
+    /// A phase of the compiler that can be timed.
+    @FunctionalInterface
+    public interface Phase<T, E extends Exception> {
+        T run() throws E;
+    }
+
+    private enum Format {
+        TEXT, JSON
+    }
+
+    private record Measurement(String phase, long wallNanos, long cpuNanos, long allocatedBytes) {
+        String text() {
+            return String.format(Locale.ROOT, "%-16s %12.3f %12.3f %14d", phase(),
+                wallNanos() / 1e6, cpuNanos() < 0 ? -1 : cpuNanos() / 1e6,
+                allocatedBytes() < 0 ? -1 : allocatedBytes() / 1024);
+        }
+
+        void appendJson(StringBuilder json) {
+            json.append("{\"phase\":");
+            appendString(json, phase());
+            json.append(",\"wallNanos\":").append(wallNanos())
+                .append(",\"cpuNanos\":").append(cpuNanos())
+                .append(",\"allocatedBytes\":").append(allocatedBytes())
+                .append('}');
+        }
+    }
+}
@@ -17,4 +17,30 @@ public sealed interface Span {
             return "[" + start() + "|" + end() + "]";
         }
     }
+
+    /// A span that only stores source offsets, its [Position]s are created when requested.
+    record OffsetSpan(LineIndex lines, int startOffset, int endOffset) implements Span {
+        @Override
+        public Position start() {
+            return new Position.OffsetPosition(lines(), startOffset());
+        }
+
+        @Override
+        public Position end() {
+            return new Position.OffsetPosition(lines(), endOffset());
+        }
+
+        @Override
+        public Span merge(Span later) {
+            if (later instanceof OffsetSpan(LineIndex laterLines, _, int laterEnd) && laterLines == lines()) {
+                return new OffsetSpan(lines(), startOffset(), laterEnd);
+            }
+            return new SimpleSpan(start(), later.end());
+        }
+
+        @Override
+        public String toString() {
+            return "[" + start() + "|" + end() + "]";
+        }
+    }
 }
@@ -1,32 +1,86 @@
 package edu.kit.kastel.vads.compiler.backend.aasm;
 
 import edu.kit.kastel.vads.compiler.backend.regalloc.Register;
+import edu.kit.kastel.vads.compiler.event.CodeEmissionEvent;
+import edu.kit.kastel.vads.compiler.event.RegisterAllocationEvent;
+import edu.kit.kastel.vads.compiler.event.Sizes;
+import edu.kit.kastel.vads.compiler.backend.regalloc.RegisterAllocator;
 import edu.kit.kastel.vads.compiler.ir.IrGraph;
 import edu.kit.kastel.vads.compiler.ir.node.*;
 
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Supplier;
 
 import static edu.kit.kastel.vads.compiler.ir.util.NodeSupport.predecessorSkipProj;
 
 public class CodeGenerator {
 
+    private static final List<PhysicalRegister> CALLEE_SAVED = PhysicalRegister.ALLOCATABLE.stream()
+            .filter(PhysicalRegister::calleeSaved)
+            .toList();
+
     private static class PhysicalRegisterMapper {
-        private static final String[] PHYSICAL_REGISTERS = { "%ebx", "%ecx", "%esi", "%edi" };
+        // the callee-saved registers are pushed right below the saved %rbp, spill slots follow
+        private static final int SPILL_AREA_OFFSET = 8 * CALLEE_SAVED.size();
 
         public static String map(Register reg) {
-            if (reg instanceof VirtualRegister vr) {
-                return PHYSICAL_REGISTERS[vr.id() % PHYSICAL_REGISTERS.length];
+            if (reg instanceof StackSlot slot) {
+                return "-" + (SPILL_AREA_OFFSET + 4 * (slot.index() + 1)) + "(%rbp)";
             }
             return reg.toString();
         }
+
+        public static boolean isMemory(Register reg) {
+            return reg instanceof StackSlot;
+        }
+    }
+
+    private final Supplier<? extends RegisterAllocator> allocators;
+
+    public CodeGenerator() {
+        this(GraphColoringRegisterAllocator::new);
+    }
+
+    /// @param allocators creates the allocator for each graph, it must only assign
+    ///                   [PhysicalRegister]s and [StackSlot]s
+    public CodeGenerator(Supplier<? extends RegisterAllocator> allocators) {
+        this.allocators = allocators;
     }
 
     public String generateCode(List<IrGraph> program) {
         StringBuilder builder = new StringBuilder();
 
+        List<Map<Node, Register>> allocations = new ArrayList<>();
+        int spillSlots = 0;
+        for (IrGraph graph : program) {
+            RegisterAllocationEvent event = new RegisterAllocationEvent();
+            event.begin();
+            RegisterAllocator allocator = this.allocators.get();
+            Map<Node, Register> registers = allocator.allocateRegisters(graph);
+            event.end();
+            if (event.shouldCommit()) {
+                event.function = graph.name();
+                event.allocator = allocator.getClass().getSimpleName();
+                event.irNodes = Sizes.nodeCount(graph);
+                event.values = registers.size();
+                event.spilled = (int) registers.values().stream().filter(PhysicalRegisterMapper::isMemory).count();
+                event.commit();
+            }
+            allocations.add(registers);
+            for (Register register : registers.values()) {
+                if (register instanceof StackSlot slot) {
+                    spillSlots = Math.max(spillSlots, slot.index() + 1);
+                }
+            }
+        }
+        // keep %rsp 16 byte aligned
+        int frameSize = (4 * spillSlots + 15) & -16;
+
         builder.append(".section .text\n")
                 .append(".global main\n")
                 .append(".global _main\n")
@@ -37,29 +91,51 @@ public class CodeGenerator {
                 .append("    syscall\n")
                 .append("_main:\n")
                 .append("    pushq %rbp\n")
-                .append("    movq %rsp, %rbp\n")
-                .append("    pushq %rbx\n")
-                .append("    subq $32, %rsp\n");
+                .append("    movq %rsp, %rbp\n");
+        for (PhysicalRegister register : CALLEE_SAVED) {
+            builder.append("    pushq ").append(register.quadName()).append("\n");
+        }
+        if (frameSize > 0) {
+            builder.append("    subq $").append(frameSize).append(", %rsp\n");
+        }
 
-        for (IrGraph graph : program) {
-            AasmRegisterAllocator allocator = new AasmRegisterAllocator();
-            Map<Node, Register> registers = allocator.allocateRegisters(graph);
-            generateForGraph(graph, builder, registers);
+        for (int i = 0; i < program.size(); i++) {
+            CodeEmissionEvent event = new CodeEmissionEvent();
+            event.begin();
+            int start = builder.length();
+            generateForGraph(program.get(i), builder, allocations.get(i));
+            event.end();
+            if (event.shouldCommit()) {
+                event.function = program.get(i).name();
+                event.instructions = Sizes.instructionCount(builder, start, builder.length());
+                event.commit();
+            }
         }
 
-        builder.append("    addq $32, %rsp\n")
-                .append("    popq %rbx\n")
-                .append("    movq %rbp, %rsp\n")
+        if (frameSize > 0) {
+            builder.append("    addq $").append(frameSize).append(", %rsp\n");
+        }
+        for (PhysicalRegister register : CALLEE_SAVED.reversed()) {
+            builder.append("    popq ").append(register.quadName()).append("\n");
+        }
+        builder.append("    movq %rbp, %rsp\n")
                 .append("    popq %rbp\n")
                 .append("    ret\n");
         return builder.toString();
     }
 
     private void generateForGraph(IrGraph graph, StringBuilder builder, Map<Node, Register> registers) {
-        Set<Node> visited = new HashSet<>();
+        Set<Node> visited = newVisitedSet();
         scan(graph.endBlock(), visited, builder, registers);
     }
 
+    /// {@return an empty set for the nodes already emitted}
+    /// Nodes are compared by identity, like in [Schedule] and the register allocators. Two distinct nodes that are
+    /// [Node#equals(Object)] both have to be emitted, each of them gets its own register.
+    private static Set<Node> newVisitedSet() {
+        return Collections.newSetFromMap(new IdentityHashMap<>());
+    }
+
     private void scan(Node node, Set<Node> visited, StringBuilder builder, Map<Node, Register> registers) {
         for (Node predecessor : node.predecessors()) {
             if (!visited.contains(predecessor)) {
@@ -70,11 +146,16 @@ public class CodeGenerator {
         if (!visited.add(node)) {
             return;
         }
+        if (Liveness.isFusedCondition(node)) {
+            // emitted by the if or while using it
+            return;
+        }
 
         switch (node) {
             case AddNode add -> binary(builder, registers, add, "addl");
             case SubNode sub -> binary(builder, registers, sub, "subl");
             case MulNode mul -> binary(builder, registers, mul, "imull");
+            case MulHighNode mulHigh -> generateMulHigh(builder, registers, mulHigh);
             case DivNode div -> binaryDivMod(builder, registers, div);
             case ModNode mod -> binaryDivMod(builder, registers, mod);
             case ReturnNode ret -> generateReturn(builder, registers, ret);
@@ -92,13 +173,14 @@ public class CodeGenerator {
             case BitwiseXorNode bitwiseXor -> binary(builder, registers, bitwiseXor, "xorl");
             case ShiftLeftNode shiftLeft -> binary(builder, registers, shiftLeft, "shll");
             case ShiftRightNode shiftRight -> binary(builder, registers, shiftRight, "shrl");
+            case ArithmeticShiftRightNode shiftRight -> binary(builder, registers, shiftRight, "sarl");
 
-            case CompareGreaterNode cmp -> generateCompare(builder, registers, cmp, "setg");
-            case CompareGreaterEqualNode cmp -> generateCompare(builder, registers, cmp, "setge");
-            case CompareLessNode cmp -> generateCompare(builder, registers, cmp, "setl");
-            case CompareLessEqualNode cmp -> generateCompare(builder, registers, cmp, "setle");
-            case CompareEqualNode cmp -> generateCompare(builder, registers, cmp, "sete");
-            case CompareNotEqualNode cmp -> generateCompare(builder, registers, cmp, "setne");
+            case CompareGreaterNode cmp -> generateCompare(builder, registers, cmp);
+            case CompareGreaterEqualNode cmp -> generateCompare(builder, registers, cmp);
+            case CompareLessNode cmp -> generateCompare(builder, registers, cmp);
+            case CompareLessEqualNode cmp -> generateCompare(builder, registers, cmp);
+            case CompareEqualNode cmp -> generateCompare(builder, registers, cmp);
+            case CompareNotEqualNode cmp -> generateCompare(builder, registers, cmp);
 
             case LogicalAndNode logicalAnd -> generateLogicalAnd(builder, registers, logicalAnd);
             case LogicalOrNode logicalOr -> generateLogicalOr(builder, registers, logicalOr);
@@ -115,26 +197,116 @@ public class CodeGenerator {
     private void generateCompare(
             StringBuilder builder,
             Map<Node, Register> registers,
-            BinaryOperationNode node,
-            String setInstr) {
+            BinaryOperationNode node) {
 
+        compare(builder, registers, node);
+        builder.append("    set")
+               .append(conditionCode(node))
+               .append(" %al\n");
+        storeFlag(builder, registers.get(node));
+    }
+
+    /// Sets the flags by comparing the left operand of the comparison to its right one.
+    private static void compare(StringBuilder builder, Map<Node, Register> registers, BinaryOperationNode node) {
         Node leftNode = predecessorSkipProj(node, BinaryOperationNode.LEFT);
         Node rightNode = predecessorSkipProj(node, BinaryOperationNode.RIGHT);
         String left = PhysicalRegisterMapper.map(registers.get(leftNode));
         String right = PhysicalRegisterMapper.map(registers.get(rightNode));
-        String result = PhysicalRegisterMapper.map(registers.get(node));
-
 
+        if (PhysicalRegisterMapper.isMemory(registers.get(leftNode))
+                && PhysicalRegisterMapper.isMemory(registers.get(rightNode))) {
+            // cmpl does not accept two memory operands
+            builder.append("    movl ")
+                   .append(left)
+                   .append(", %eax\n");
+            left = "%eax";
+        }
         builder.append("    cmpl ")
                .append(right)
                .append(", ")
                .append(left)
                .append("\n");
-        builder.append("    ")
-               .append(setInstr)
-               .append(" %al\n");
-        builder.append("    movzbl %al, ")
-               .append(result)
+    }
+
+    /// {@return the suffix of `setcc` and `jcc` that tests whether the comparison holds after [#compare]}
+    private static String conditionCode(BinaryOperationNode node) {
+        return switch (node) {
+            case CompareGreaterNode _ -> "g";
+            case CompareGreaterEqualNode _ -> "ge";
+            case CompareLessNode _ -> "l";
+            case CompareLessEqualNode _ -> "le";
+            case CompareEqualNode _ -> "e";
+            case CompareNotEqualNode _ -> "ne";
+            default -> throw new IllegalArgumentException("not a comparison: " + node);
+        };
+    }
+
+    /// {@return the condition code that holds exactly if the given one does not}
+    private static String negate(String conditionCode) {
+        return switch (conditionCode) {
+            case "g" -> "le";
+            case "ge" -> "l";
+            case "l" -> "ge";
+            case "le" -> "g";
+            case "e" -> "ne";
+            case "ne" -> "e";
+            default -> throw new IllegalArgumentException("unknown condition code " + conditionCode);
+        };
+    }
+
+    /// Jumps to the label if the condition is false.
+    /// A comparison only used as a condition is fused into the jump instead of materializing it first.
+    private static void jumpIfFalse(StringBuilder builder, Map<Node, Register> registers, Node condition,
+            String label) {
+        if (Liveness.isFusedCondition(condition)) {
+            BinaryOperationNode comparison = (BinaryOperationNode) condition;
+            compare(builder, registers, comparison);
+            builder.append("    j")
+                   .append(negate(conditionCode(comparison)))
+                   .append(" ")
+                   .append(label)
+                   .append("\n");
+            return;
+        }
+        builder.append("    cmpl $0, ")
+               .append(PhysicalRegisterMapper.map(registers.get(condition)))
+               .append("\n")
+               .append("    je ")
+               .append(label)
+               .append("\n");
+    }
+
+    /// Zero-extends `%al` into the given register. `movzbl` cannot write to memory directly.
+    private static void storeFlag(StringBuilder builder, Register result) {
+        if (PhysicalRegisterMapper.isMemory(result)) {
+            builder.append("    movzbl %al, %eax\n")
+                   .append("    movl %eax, ")
+                   .append(PhysicalRegisterMapper.map(result))
+                   .append("\n");
+        } else {
+            builder.append("    movzbl %al, ")
+                   .append(PhysicalRegisterMapper.map(result))
+                   .append("\n");
+        }
+    }
+
+    /// Moves between two operands, going through `%eax` if both of them are in memory.
+    private static void move(StringBuilder builder, Register from, Register to) {
+        String source = PhysicalRegisterMapper.map(from);
+        String destination = PhysicalRegisterMapper.map(to);
+        if (source.equals(destination)) {
+            return;
+        }
+        if (PhysicalRegisterMapper.isMemory(from) && PhysicalRegisterMapper.isMemory(to)) {
+            builder.append("    movl ")
+                   .append(source)
+                   .append(", %eax\n");
+            source = "%eax";
+        }
+        builder.append("    movl ")
+               .append(source)
+               .append(", ")
+               .append(destination)
                .append("\n");
     }
 
@@ -149,22 +321,6 @@ public class CodeGenerator {
         String left = PhysicalRegisterMapper.map(registers.get(leftNode));
         String result = PhysicalRegisterMapper.map(registers.get(node));
 
-        if (leftNode instanceof ConstIntNode lc && rightNode instanceof ConstIntNode rc) {
-            int folded = switch (opcode) {
-                case "addl" -> lc.value() + rc.value();
-                case "subl" -> lc.value() - rc.value();
-                case "imull" -> lc.value() * rc.value();
-                case "andl" -> lc.value() & rc.value();
-                case "orl"  -> lc.value() | rc.value();
-                case "xorl" -> lc.value() ^ rc.value();
-                case "shll" -> lc.value() << rc.value();
-                case "shrl" -> lc.value() >>> rc.value();
-                default -> throw new IllegalStateException("unknwon opcode in binary: " + opcode + " node " + node.getClass().getSimpleName());
-            };
-            builder.append("    movl $").append(folded).append(", ").append(result).append("\n");
-            return;
-        }
-
         if (opcode.equals("subl")) {
             if (leftNode instanceof ConstIntNode leftConst && leftConst.value() == 0) {
                 if (rightNode instanceof ConstIntNode constNode) {
@@ -174,14 +330,7 @@ public class CodeGenerator {
                             .append(result)
                             .append("\n");
                 } else {
-                    String right = PhysicalRegisterMapper.map(registers.get(rightNode));
-                    if (!result.equals(right)) {
-                        builder.append("    movl ")
-                                .append(right)
-                                .append(", ")
-                                .append(result)
-                                .append("\n");
-                    }
+                    move(builder, registers.get(rightNode), registers.get(node));
                     builder.append("    negl ")
                             .append(result)
                             .append("\n");
@@ -190,28 +339,48 @@ public class CodeGenerator {
             }
         }
 
-        if (!result.equals(left)) {
+        String right = PhysicalRegisterMapper.map(registers.get(rightNode));
+        boolean commutative = switch (opcode) {
+            case "addl", "andl", "orl", "xorl", "imull" -> true;
+            default -> false;
+        };
+        boolean rightInResult = !(rightNode instanceof ConstIntNode) && result.equals(right);
+        if (rightInResult && commutative) {
+            // the result register already holds the right operand, so compute result = right op left
+            Node tmpNode = leftNode;
+            leftNode = rightNode;
+            rightNode = tmpNode;
+            String tmp = left;
+            left = right;
+            right = tmp;
+            rightInResult = false;
+        }
+
+        // work on %eax if the result is in memory or moving the left operand would overwrite the right one
+        String dest = PhysicalRegisterMapper.isMemory(registers.get(node)) || rightInResult ? "%eax" : result;
+
+        if (!dest.equals(left)) {
             builder.append("    movl ")
                     .append(left)
                     .append(", ")
-                    .append(result)
+                    .append(dest)
                     .append("\n");
         }
 
-        String right = PhysicalRegisterMapper.map(registers.get(rightNode));
-
         switch (opcode) {
             case "addl":
             case "andl":
             case "orl":
             case "xorl":
+            case "imull":
+            case "subl":
                 if (rightNode instanceof ConstIntNode constNode) {
                     builder.append("    ")
                             .append(opcode)
                             .append(" $")
                             .append(constNode.value())
                             .append(", ")
-                            .append(result)
+                            .append(dest)
                             .append("\n");
                 } else {
                     builder.append("    ")
@@ -219,66 +388,44 @@ public class CodeGenerator {
                             .append(" ")
                             .append(right)
                             .append(", ")
-                            .append(result)
-                            .append("\n");
-                }
-                break;
-            case "imull":
-                if (rightNode instanceof ConstIntNode constNode) {
-                    builder.append("    imull $")
-                            .append(constNode.value())
-                            .append(", ")
-                            .append(result)
-                            .append("\n");
-                } else {
-                    builder.append("    imull ")
-                            .append(right)
-                            .append(", ")
-                            .append(result)
-                            .append("\n");
-                }
-                break;
-            case "subl":
-                if (rightNode instanceof ConstIntNode constNode) {
-                    builder.append("    subl $")
-                            .append(constNode.value())
-                            .append(", ")
-                            .append(result)
-                            .append("\n");
-                } else {
-                    builder.append("    subl ")
-                            .append(right)
-                            .append(", ")
-                            .append(result)
+                            .append(dest)
                             .append("\n");
                 }
                 break;
             case "shll":
             case "shrl":
+            case "sarl":
                 if (rightNode instanceof ConstIntNode constNode) {
+                    // the immediate must fit into a byte, the hardware only uses the low five bits of the count anyway
                     builder.append("    ")
                             .append(opcode)
                             .append(" $")
-                            .append(constNode.value())
+                            .append(constNode.value() & 31)
                             .append(", ")
-                            .append(result)
+                            .append(dest)
                             .append("\n");
                 } else {
-                    if (!right.equals("%cl")) {
-                        builder.append("    movb ")
-                                .append(right)
-                                .append(", %cl\n");
-                    }
+                    builder.append("    movl ")
+                            .append(right)
+                            .append(", %ecx\n");
                     builder.append("    ")
                             .append(opcode)
                             .append(" %cl, ")
-                            .append(result)
+                            .append(dest)
                             .append("\n");
                 }
                 break;
             default:
                 throw new IllegalStateException("unknown opcode in binary: " + opcode + " for node " + node.getClass().getSimpleName());
         }
+
+        if (!dest.equals(result)) {
+            builder.append("    movl ")
+                    .append(dest)
+                    .append(", ")
+                    .append(result)
+                    .append("\n");
+        }
     }
 
     private void binaryDivMod(StringBuilder builder, Map<Node, Register> registers,
@@ -289,10 +436,7 @@ public class CodeGenerator {
                 registers.get(predecessorSkipProj(node, BinaryOperationNode.RIGHT)));
         String result = PhysicalRegisterMapper.map(registers.get(node));
 
-        builder.append("    pushq %rax\n");
-        builder.append("    pushq %rdx\n");
-
-        // %eax for division
+        // %eax for division, neither it nor %edx are ever allocated, so they need not be saved
         builder.append("    movl ")
                 .append(left)
                 .append(", %eax\n");
@@ -312,9 +456,25 @@ public class CodeGenerator {
                     .append(result)
                     .append("\n");
         }
+    }
 
-        builder.append("    popq %rdx\n");
-        builder.append("    popq %rax\n");
+    /// Computes the upper half of the product with the one operand form of `imull`, which writes it to `%edx`.
+    private void generateMulHigh(StringBuilder builder, Map<Node, Register> registers, MulHighNode node) {
+        String left = PhysicalRegisterMapper.map(
+                registers.get(predecessorSkipProj(node, BinaryOperationNode.LEFT)));
+        String right = PhysicalRegisterMapper.map(
+                registers.get(predecessorSkipProj(node, BinaryOperationNode.RIGHT)));
+        String result = PhysicalRegisterMapper.map(registers.get(node));
+
+        builder.append("    movl ")
+                .append(left)
+                .append(", %eax\n");
+        builder.append("    imull ")
+                .append(right)
+                .append("\n");
+        builder.append("    movl %edx, ")
+                .append(result)
+                .append("\n");
     }
 
     private void generateReturn(StringBuilder builder, Map<Node, Register> registers, ReturnNode node) {
@@ -347,23 +507,21 @@ public class CodeGenerator {
 }
 
     private void generateIf(StringBuilder builder, Map<Node, Register> registers, IfNode node) {
-        String conditionRegister = PhysicalRegisterMapper.map(
-                registers.get(predecessorSkipProj(node, IfNode.CONDITION)));
+        if (predecessorSkipProj(node, IfNode.CONDITION) instanceof ConstBoolNode condition) {
+            // constant propagation already decided the branch
+            scan(condition.value() ? node.thenBranch() : node.elseBranch(), newVisitedSet(), builder, registers);
+            return;
+        }
         String thenLabel = "if_then_" + node.hashCode();
         String elseLabel = "if_else_" + node.hashCode();
         String endLabel = "if_end_" + node.hashCode();
 
-        builder.append("    cmp $0, ")
-                .append(conditionRegister)
-                .append("\n")
-                .append("    je ")
-                .append(elseLabel)
-                .append("\n")
-                .append(thenLabel)
+        jumpIfFalse(builder, registers, predecessorSkipProj(node, IfNode.CONDITION), elseLabel);
+        builder.append(thenLabel)
                 .append(":\n");
 
         Node thenNode = node.thenBranch();
-        scan(thenNode, new HashSet<>(), builder, registers);
+        scan(thenNode, newVisitedSet(), builder, registers);
 
         if (!endsWithBreak(thenNode)) {
             builder.append("    jmp ")
@@ -374,28 +532,25 @@ public class CodeGenerator {
         builder.append(elseLabel).append(":\n");
 
         Node elseNode = node.elseBranch();
-        scan(elseNode, new HashSet<>(), builder, registers);
+        scan(elseNode, newVisitedSet(), builder, registers);
 
         builder.append(endLabel).append(":\n");
     }
 
     private void generateWhile(StringBuilder builder, Map<Node, Register> registers, WhileNode node) {
-        String conditionRegister = PhysicalRegisterMapper.map(
-                registers.get(predecessorSkipProj(node, WhileNode.CONDITION)));
+        if (predecessorSkipProj(node, WhileNode.CONDITION) instanceof ConstBoolNode condition && !condition.value()) {
+            // the body is never executed
+            return;
+        }
         String bodyStartLabel = "while_body_" + node.hashCode();
         String endLabel = "while_end_" + node.hashCode();
 
-        builder.append("    cmp $0, ")
-                .append(conditionRegister)
-                .append("\n")
-                .append("    je ")
-                .append(endLabel)
-                .append("\n")
-                .append(bodyStartLabel)
+        jumpIfFalse(builder, registers, predecessorSkipProj(node, WhileNode.CONDITION), endLabel);
+        builder.append(bodyStartLabel)
                 .append(":\n");
 
         Node bodyNode = node.body();
-        scan(bodyNode, new HashSet<>(), builder, registers);
+        scan(bodyNode, newVisitedSet(), builder, registers);
 
         if (!endsWithBreak(bodyNode)) {
             builder.append("    jmp ")
@@ -482,11 +637,10 @@ public class CodeGenerator {
             Map<Node, Register> registers,
             LogicalNotNode node) {
 
-        String dest = PhysicalRegisterMapper.map(registers.get(node));
-        String src = PhysicalRegisterMapper.map(registers.get(node.operand()));
+        String src = PhysicalRegisterMapper.map(registers.get(predecessorSkipProj(node, LogicalNotNode.OPERAND)));
 
         builder.append("    cmpl $0, ").append(src).append("\n");
         builder.append("    sete %al\n");
-        builder.append("    movzbl %al, ").append(dest).append("\n");
+        storeFlag(builder, registers.get(node));
     }
 }
@@ -0,0 +1,266 @@
+package edu.kit.kastel.vads.compiler.backend.aasm;
+
+import edu.kit.kastel.vads.compiler.backend.regalloc.InterferenceGraph;
+import edu.kit.kastel.vads.compiler.backend.regalloc.LiveInterval;
+import edu.kit.kastel.vads.compiler.backend.regalloc.Register;
+import edu.kit.kastel.vads.compiler.backend.regalloc.RegisterAllocator;
+import edu.kit.kastel.vads.compiler.ir.IrGraph;
+import edu.kit.kastel.vads.compiler.ir.node.AddNode;
+import edu.kit.kastel.vads.compiler.ir.node.ArithmeticShiftRightNode;
+import edu.kit.kastel.vads.compiler.ir.node.BinaryOperationNode;
+import edu.kit.kastel.vads.compiler.ir.node.BitwiseAndNode;
+import edu.kit.kastel.vads.compiler.ir.node.BitwiseOrNode;
+import edu.kit.kastel.vads.compiler.ir.node.BitwiseXorNode;
+import edu.kit.kastel.vads.compiler.ir.node.MulNode;
+import edu.kit.kastel.vads.compiler.ir.node.Node;
+import edu.kit.kastel.vads.compiler.ir.node.ShiftLeftNode;
+import edu.kit.kastel.vads.compiler.ir.node.ShiftRightNode;
+import edu.kit.kastel.vads.compiler.ir.node.SubNode;
+import edu.kit.kastel.vads.compiler.ir.util.NodeSupport;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/// A register allocator based on coloring the interference graph of the values.
+///
+/// 1. Live intervals are computed over the [Schedule] of the graph.
+/// 2. As long as more values are live at some point than there are registers,
+///    the value whose interval ends last is spilled to a [StackSlot].
+/// 3. Two-address operations that keep a register are coalesced with their operands,
+///    so the [CodeGenerator] can omit the initial move. An operand that does not interfere with the
+///    operation ends where it starts, so merging the two never increases the number of values live at once.
+/// 4. The values that keep a register form an [InterferenceGraph] that is colored greedily along
+///    a simplicial elimination order found by maximum cardinality search. The graph is an interval graph
+///    in which no more values than registers are live at once, so the greedy coloring never runs out of
+///    registers, and each value has fewer neighbours than there are registers.
+/// 5. Spilled values share stack slots with values whose interval ended before theirs started.
+public class GraphColoringRegisterAllocator implements RegisterAllocator {
+    private final List<? extends Register> registers;
+
+    public GraphColoringRegisterAllocator() {
+        this(PhysicalRegister.ALLOCATABLE);
+    }
+
+    public GraphColoringRegisterAllocator(List<? extends Register> registers) {
+        this.registers = List.copyOf(registers);
+    }
+
+    @Override
+    public Map<Node, Register> allocateRegisters(IrGraph graph) {
+        List<LiveInterval> intervals = Liveness.intervals(graph);
+        int size = intervals.size();
+        Map<Node, Integer> indices = new IdentityHashMap<>();
+        int[] representative = new int[size];
+        int[] starts = new int[size];
+        int[] ends = new int[size];
+        for (int i = 0; i < size; i++) {
+            indices.put(intervals.get(i).node(), i);
+            representative[i] = i;
+            starts[i] = intervals.get(i).start();
+            ends[i] = intervals.get(i).end();
+        }
+        // intervals are ordered by their start
+        List<Integer> byStart = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            byStart.add(i);
+        }
+        BitSet spilled = selectSpills(byStart, starts, ends);
+        coalesce(intervals, indices, spilled, representative, starts, ends);
+
+        List<Integer> colored = new ArrayList<>();
+        List<Integer> stacked = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            if (representative[i] == i) {
+                (spilled.get(i) ? stacked : colored).add(i);
+            }
+        }
+        colored.sort(Comparator.comparingInt(vertex -> starts[vertex]));
+        InterferenceGraph interference = buildInterferenceGraph(colored, starts, ends, size);
+
+        int[] colors = new int[size];
+        Arrays.fill(colors, -1);
+        for (int vertex : maximumCardinalityOrder(interference, colored)) {
+            int color = lowestFreeColor(interference, vertex, colors);
+            if (color < this.registers.size()) {
+                colors[vertex] = color;
+            } else {
+                // the spilling above guarantees this does not happen, but stay safe
+                spilled.set(vertex);
+                stacked.add(vertex);
+            }
+        }
+        stacked.sort(Comparator.comparingInt(vertex -> starts[vertex]));
+        int[] slots = assignSlots(stacked, starts, ends, size);
+
+        Map<Node, Register> result = new IdentityHashMap<>();
+        for (int i = 0; i < size; i++) {
+            int vertex = find(representative, i);
+            Register register = spilled.get(vertex)
+                ? new StackSlot(slots[vertex])
+                : this.registers.get(colors[vertex]);
+            result.put(intervals.get(i).node(), register);
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    private BitSet selectSpills(List<Integer> byStart, int[] starts, int[] ends) {
+        BitSet spilled = new BitSet();
+        List<Integer> active = new ArrayList<>();
+        for (int vertex : byStart) {
+            active.removeIf(other -> ends[other] <= starts[vertex]);
+            active.add(vertex);
+            if (active.size() > this.registers.size()) {
+                Integer furthest = Collections.max(active, Comparator.comparingInt(other -> ends[other]));
+                active.remove(furthest);
+                spilled.set(furthest);
+            }
+        }
+        return spilled;
+    }
+
+    private static void coalesce(List<LiveInterval> intervals, Map<Node, Integer> indices, BitSet spilled,
+            int[] representative, int[] starts, int[] ends) {
+        for (int i = 0; i < intervals.size(); i++) {
+            Node node = intervals.get(i).node();
+            if (!isTwoAddress(node) || spilled.get(i)) {
+                continue;
+            }
+            coalesceOperand(node, BinaryOperationNode.LEFT, i, indices, spilled, representative, starts, ends);
+            if (isCommutative(node)) {
+                coalesceOperand(node, BinaryOperationNode.RIGHT, i, indices, spilled, representative, starts, ends);
+            }
+        }
+    }
+
+    private static void coalesceOperand(Node node, int operandIdx, int nodeIdx, Map<Node, Integer> indices,
+            BitSet spilled, int[] representative, int[] starts, int[] ends) {
+        Integer operandIdxInGraph = indices.get(NodeSupport.predecessorSkipProj(node, operandIdx));
+        if (operandIdxInGraph == null || spilled.get(operandIdxInGraph)) {
+            return;
+        }
+        int a = find(representative, nodeIdx);
+        int b = find(representative, operandIdxInGraph);
+        // coalesced classes are contiguous, so they interfere exactly if their ranges overlap
+        if (a == b || starts[a] < ends[b] && starts[b] < ends[a]) {
+            return;
+        }
+        representative[b] = a;
+        starts[a] = Math.min(starts[a], starts[b]);
+        ends[a] = Math.max(ends[a], ends[b]);
+    }
+
+    /// Connects each of the vertices with the ones whose interval overlaps with its own.
+    /// After spilling, at most as many vertices as there are registers are active at once.
+    private static InterferenceGraph buildInterferenceGraph(List<Integer> byStart, int[] starts, int[] ends,
+            int size) {
+        InterferenceGraph graph = new InterferenceGraph(size);
+        List<Integer> active = new ArrayList<>();
+        for (int vertex : byStart) {
+            active.removeIf(other -> ends[other] <= starts[vertex]);
+            for (int other : active) {
+                graph.addEdge(vertex, other);
+            }
+            active.add(vertex);
+        }
+        return graph;
+    }
+
+    /// Maximum cardinality search: repeatedly picks the vertex with the most already picked neighbours.
+    /// On chordal graphs, the resulting order is the reverse of a perfect elimination order,
+    /// so every vertex's already colored neighbours form a clique.
+    private static List<Integer> maximumCardinalityOrder(InterferenceGraph interference, List<Integer> vertices) {
+        int[] weights = new int[interference.size()];
+        BitSet picked = new BitSet();
+        List<ArrayDeque<Integer>> buckets = new ArrayList<>();
+        buckets.add(new ArrayDeque<>());
+        for (int vertex : vertices) {
+            buckets.getFirst().push(vertex);
+        }
+        List<Integer> order = new ArrayList<>(vertices.size());
+        int max = 0;
+        while (order.size() < vertices.size()) {
+            Integer vertex = buckets.get(max).poll();
+            if (vertex == null) {
+                max--;
+                continue;
+            }
+            if (picked.get(vertex) || weights[vertex] != max) {
+                // stale entry, the vertex was moved to a higher bucket
+                continue;
+            }
+            picked.set(vertex);
+            order.add(vertex);
+            for (int i = 0; i < interference.degree(vertex); i++) {
+                int neighbour = interference.neighbour(vertex, i);
+                if (picked.get(neighbour)) {
+                    continue;
+                }
+                int weight = ++weights[neighbour];
+                if (weight == buckets.size()) {
+                    buckets.add(new ArrayDeque<>());
+                }
+                buckets.get(weight).push(neighbour);
+                max = Math.max(max, weight);
+            }
+        }
+        return order;
+    }
+
+    private static int lowestFreeColor(InterferenceGraph interference, int vertex, int[] colors) {
+        BitSet used = new BitSet();
+        for (int i = 0; i < interference.degree(vertex); i++) {
+            int neighbour = interference.neighbour(vertex, i);
+            if (colors[neighbour] >= 0) {
+                used.set(colors[neighbour]);
+            }
+        }
+        return used.nextClearBit(0);
+    }
+
+    /// Gives each of the vertices the lowest stack slot that no active vertex occupies.
+    /// Any number of spilled values can be live at once, so no interference graph is built for them.
+    private static int[] assignSlots(List<Integer> byStart, int[] starts, int[] ends, int size) {
+        int[] slots = new int[size];
+        Arrays.fill(slots, -1);
+        PriorityQueue<Integer> active = new PriorityQueue<>(Comparator.comparingInt(vertex -> ends[vertex]));
+        BitSet occupied = new BitSet();
+        for (int vertex : byStart) {
+            while (!active.isEmpty() && ends[active.peek()] <= starts[vertex]) {
+                occupied.clear(slots[active.poll()]);
+            }
+            int slot = occupied.nextClearBit(0);
+            occupied.set(slot);
+            slots[vertex] = slot;
+            active.add(vertex);
+        }
+        return slots;
+    }
+
+    private static int find(int[] representative, int vertex) {
+        while (representative[vertex] != vertex) {
+            representative[vertex] = representative[representative[vertex]];
+            vertex = representative[vertex];
+        }
+        return vertex;
+    }
+
+    /// {@return whether the code generator computes the node in place of its left operand}
+    private static boolean isTwoAddress(Node node) {
+        return node instanceof AddNode || node instanceof SubNode || node instanceof MulNode
+            || node instanceof BitwiseAndNode || node instanceof BitwiseOrNode || node instanceof BitwiseXorNode
+            || node instanceof ShiftLeftNode || node instanceof ShiftRightNode || node instanceof ArithmeticShiftRightNode;
+    }
+
+    private static boolean isCommutative(Node node) {
+        return node instanceof AddNode || node instanceof MulNode
+            || node instanceof BitwiseAndNode || node instanceof BitwiseOrNode || node instanceof BitwiseXorNode;
+    }
+}
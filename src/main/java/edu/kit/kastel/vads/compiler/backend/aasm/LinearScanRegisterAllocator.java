@@ -0,0 +1,112 @@
+package edu.kit.kastel.vads.compiler.backend.aasm;
+
+import edu.kit.kastel.vads.compiler.backend.regalloc.LiveInterval;
+import edu.kit.kastel.vads.compiler.backend.regalloc.Register;
+import edu.kit.kastel.vads.compiler.backend.regalloc.RegisterAllocator;
+import edu.kit.kastel.vads.compiler.ir.IrGraph;
+import edu.kit.kastel.vads.compiler.ir.node.BinaryOperationNode;
+import edu.kit.kastel.vads.compiler.ir.node.Node;
+import edu.kit.kastel.vads.compiler.ir.util.NodeSupport;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/// A register allocator as described in
+/// [`Linear Scan Register Allocation`](https://dl.acm.org/doi/10.1145/330249.330250) by Poletto and Sarkar.
+///
+/// The [LiveInterval]s are visited once, ordered by their start.
+/// Whenever all registers are taken, the interval that ends last is spilled to a [StackSlot].
+/// As every node is mapped to exactly one location, intervals are always spilled as a whole.
+/// Compared to the [GraphColoringRegisterAllocator], this runs in `O(n log n)` and
+/// needs no interference graph, at the cost of more moves in the generated code.
+public class LinearScanRegisterAllocator implements RegisterAllocator {
+    private static final Comparator<Allocation> BY_END = Comparator.comparingInt(a -> a.interval().end());
+
+    private final List<? extends Register> registers;
+
+    public LinearScanRegisterAllocator() {
+        this(PhysicalRegister.ALLOCATABLE);
+    }
+
+    public LinearScanRegisterAllocator(List<? extends Register> registers) {
+        this.registers = List.copyOf(registers);
+    }
+
+    @Override
+    public Map<Node, Register> allocateRegisters(IrGraph graph) {
+        Map<Node, Register> result = new IdentityHashMap<>();
+        Map<Node, Integer> colors = new IdentityHashMap<>();
+        PriorityQueue<Allocation> active = new PriorityQueue<>(BY_END);
+        BitSet freeRegisters = new BitSet();
+        freeRegisters.set(0, this.registers.size());
+        List<Integer> slotEnds = new ArrayList<>();
+
+        for (LiveInterval interval : Liveness.intervals(graph)) {
+            expire(active, interval.start(), freeRegisters);
+
+            if (!freeRegisters.isEmpty()) {
+                int color = preferredColor(interval, colors, freeRegisters);
+                freeRegisters.clear(color);
+                active.add(new Allocation(interval, color));
+                colors.put(interval.node(), color);
+                continue;
+            }
+            Allocation furthest = Collections.max(active, BY_END);
+            if (furthest.interval().end() > interval.end()) {
+                // the new interval takes over the register of the one that lives longer
+                active.remove(furthest);
+                colors.remove(furthest.interval().node());
+                result.put(furthest.interval().node(), spill(furthest.interval(), slotEnds));
+                active.add(new Allocation(interval, furthest.color()));
+                colors.put(interval.node(), furthest.color());
+            } else {
+                result.put(interval.node(), spill(interval, slotEnds));
+            }
+        }
+
+        for (Map.Entry<Node, Integer> entry : colors.entrySet()) {
+            result.put(entry.getKey(), this.registers.get(entry.getValue()));
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    private static void expire(PriorityQueue<Allocation> active, int position, BitSet freeRegisters) {
+        while (!active.isEmpty() && active.peek().interval().end() <= position) {
+            freeRegisters.set(active.poll().color());
+        }
+    }
+
+    /// An interval might be spilled after it started, so a slot is only reused
+    /// if its previous interval ended before the start of the spilled one.
+    private static StackSlot spill(LiveInterval interval, List<Integer> slotEnds) {
+        for (int slot = 0; slot < slotEnds.size(); slot++) {
+            if (slotEnds.get(slot) <= interval.start()) {
+                slotEnds.set(slot, interval.end());
+                return new StackSlot(slot);
+            }
+        }
+        slotEnds.add(interval.end());
+        return new StackSlot(slotEnds.size() - 1);
+    }
+
+    /// Two-address operations reuse the register of their left operand if it dies at the operation,
+    /// so the [CodeGenerator] can omit the initial move.
+    private static int preferredColor(LiveInterval interval, Map<Node, Integer> colors, BitSet freeRegisters) {
+        if (interval.node() instanceof BinaryOperationNode) {
+            Integer operand = colors.get(NodeSupport.predecessorSkipProj(interval.node(), BinaryOperationNode.LEFT));
+            if (operand != null && freeRegisters.get(operand)) {
+                return operand;
+            }
+        }
+        return freeRegisters.nextSetBit(0);
+    }
+
+    private record Allocation(LiveInterval interval, int color) {
+    }
+}
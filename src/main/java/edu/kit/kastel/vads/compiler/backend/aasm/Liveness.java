@@ -0,0 +1,157 @@
+package edu.kit.kastel.vads.compiler.backend.aasm;
+
+import edu.kit.kastel.vads.compiler.backend.regalloc.LiveInterval;
+import edu.kit.kastel.vads.compiler.ir.IrGraph;
+import edu.kit.kastel.vads.compiler.ir.node.Block;
+import edu.kit.kastel.vads.compiler.ir.node.BreakNode;
+import edu.kit.kastel.vads.compiler.ir.node.CompareEqualNode;
+import edu.kit.kastel.vads.compiler.ir.node.CompareGreaterEqualNode;
+import edu.kit.kastel.vads.compiler.ir.node.CompareGreaterNode;
+import edu.kit.kastel.vads.compiler.ir.node.CompareLessEqualNode;
+import edu.kit.kastel.vads.compiler.ir.node.CompareLessNode;
+import edu.kit.kastel.vads.compiler.ir.node.CompareNotEqualNode;
+import edu.kit.kastel.vads.compiler.ir.node.ContinueNode;
+import edu.kit.kastel.vads.compiler.ir.node.IfNode;
+import edu.kit.kastel.vads.compiler.ir.node.Node;
+import edu.kit.kastel.vads.compiler.ir.node.ProjNode;
+import edu.kit.kastel.vads.compiler.ir.node.ReturnNode;
+import edu.kit.kastel.vads.compiler.ir.node.StartNode;
+import edu.kit.kastel.vads.compiler.ir.node.WhileNode;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/// Computes the [LiveInterval]s of all values in an [IrGraph] with respect to its [Schedule].
+///
+/// The [CodeGenerator] emits the branches of an [IfNode] and the body of a [WhileNode]
+/// a second time at the position of the control node.
+/// Everything reachable from them is therefore kept live until that position.
+///
+/// A comparison that is only used as a condition is not a value, see [#isFusedCondition(Node)].
+public final class Liveness {
+
+    private Liveness() {
+
+    }
+
+    /// {@return the live intervals of all values, ordered by their start}
+    public static List<LiveInterval> intervals(IrGraph graph) {
+        return intervals(Schedule.of(graph));
+    }
+
+    public static List<LiveInterval> intervals(Schedule schedule) {
+        List<Node> nodes = schedule.nodes();
+        int[] ends = new int[nodes.size()];
+        for (int i = 0; i < nodes.size(); i++) {
+            Node node = nodes.get(i);
+            ends[i] = i;
+            if (node instanceof ProjNode) {
+                // projections are resolved at their users
+                continue;
+            }
+            for (Node operand : operands(node)) {
+                int def = schedule.position(operand);
+                ends[def] = Math.max(ends[def], i);
+            }
+        }
+        for (int i = 0; i < nodes.size(); i++) {
+            switch (nodes.get(i)) {
+                case IfNode ifNode -> keepAlive(schedule, ends, i, ifNode.thenBranch(), ifNode.elseBranch());
+                case WhileNode whileNode -> keepAlive(schedule, ends, i, whileNode.body());
+                default -> {
+                }
+            }
+        }
+        List<LiveInterval> intervals = new ArrayList<>();
+        for (int i = 0; i < nodes.size(); i++) {
+            if (producesValue(nodes.get(i))) {
+                intervals.add(new LiveInterval(nodes.get(i), i, ends[i]));
+            }
+        }
+        return intervals;
+    }
+
+    /// {@return whether the node is assigned a register by the register allocators}
+    public static boolean producesValue(Node node) {
+        return !(node instanceof ProjNode || node instanceof StartNode || node instanceof Block
+            || node instanceof ReturnNode || node instanceof WhileNode || node instanceof BreakNode
+            || node instanceof ContinueNode || isFusedCondition(node));
+    }
+
+    /// {@return whether the node is a comparison only used as the condition of [IfNode]s and [WhileNode]s}
+    /// The [CodeGenerator] emits such a comparison as a `cmpl` followed by a conditional jump at each of its users,
+    /// so it gets no register and its operands are read by the users instead.
+    public static boolean isFusedCondition(Node node) {
+        if (!isComparison(node)) {
+            return false;
+        }
+        List<Node> users = node.graph().successors(node);
+        if (users.isEmpty()) {
+            return false;
+        }
+        for (Node user : users) {
+            int condition;
+            if (user instanceof IfNode) {
+                condition = IfNode.CONDITION;
+            } else if (user instanceof WhileNode) {
+                condition = WhileNode.CONDITION;
+            } else {
+                return false;
+            }
+            for (int i = 0; i < user.predecessorCount(); i++) {
+                if (i != condition && user.predecessor(i) == node) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /// {@return the values the code for the given node reads}
+    /// Side effect edges are not considered, result projections are replaced by the projected node.
+    public static List<Node> operands(Node node) {
+        List<Node> operands = new ArrayList<>();
+        for (Node predecessor : node.predecessors()) {
+            if (predecessor instanceof ProjNode proj) {
+                if (proj.projectionInfo() == ProjNode.SimpleProjectionInfo.SIDE_EFFECT) {
+                    continue;
+                }
+                predecessor = proj.predecessor(ProjNode.IN);
+            }
+            if (isFusedCondition(predecessor)) {
+                // the comparison is emitted here
+                operands.addAll(operands(predecessor));
+            } else if (producesValue(predecessor)) {
+                operands.add(predecessor);
+            }
+        }
+        return operands;
+    }
+
+    private static boolean isComparison(Node node) {
+        return node instanceof CompareEqualNode || node instanceof CompareNotEqualNode
+            || node instanceof CompareLessNode || node instanceof CompareLessEqualNode
+            || node instanceof CompareGreaterNode || node instanceof CompareGreaterEqualNode;
+    }
+
+    private static void keepAlive(Schedule schedule, int[] ends, int position, Node... roots) {
+        Set<Node> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<Node> worklist = new ArrayDeque<>(List.of(roots));
+        while (!worklist.isEmpty()) {
+            Node node = worklist.pop();
+            if (!seen.add(node)) {
+                continue;
+            }
+            if (schedule.contains(node)) {
+                int def = schedule.position(node);
+                ends[def] = Math.max(ends[def], position);
+            }
+            worklist.addAll(node.predecessors());
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package edu.kit.kastel.vads.compiler.backend.aasm;
+
+import edu.kit.kastel.vads.compiler.backend.regalloc.Register;
+
+import java.util.List;
+
+/// The x86-64 general purpose registers available to the register allocators.
+/// `%eax`, `%ecx` and `%edx` are not part of this set, the [CodeGenerator] uses them
+/// as scratch registers for division, shifts, `setcc` and memory-to-memory moves.
+/// `%esp` and `%ebp` hold the stack frame.
+public enum PhysicalRegister implements Register {
+    EBX("%ebx", "%rbx", true),
+    ESI("%esi", "%rsi", false),
+    EDI("%edi", "%rdi", false),
+    R8D("%r8d", "%r8", false),
+    R9D("%r9d", "%r9", false),
+    R10D("%r10d", "%r10", false),
+    R11D("%r11d", "%r11", false),
+    R12D("%r12d", "%r12", true),
+    R13D("%r13d", "%r13", true),
+    R14D("%r14d", "%r14", true),
+    R15D("%r15d", "%r15", true);
+
+    /// The registers in the order the allocators prefer them.
+    public static final List<PhysicalRegister> ALLOCATABLE = List.of(values());
+
+    private final String name;
+    private final String quadName;
+    private final boolean calleeSaved;
+
+    PhysicalRegister(String name, String quadName, boolean calleeSaved) {
+        this.name = name;
+        this.quadName = quadName;
+        this.calleeSaved = calleeSaved;
+    }
+
+    /// {@return the name of the full 64 bit register, e.g. for pushing it}
+    public String quadName() {
+        return this.quadName;
+    }
+
+    public boolean calleeSaved() {
+        return this.calleeSaved;
+    }
+
+    @Override
+    public String toString() {
+        return this.name;
+    }
+}
@@ -0,0 +1,69 @@
+package edu.kit.kastel.vads.compiler.backend.aasm;
+
+import edu.kit.kastel.vads.compiler.ir.IrGraph;
+import edu.kit.kastel.vads.compiler.ir.node.Node;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/// The linear order in which the [CodeGenerator] emits the nodes of an [IrGraph].
+/// The code generator walks the graph in postorder, starting at the end block,
+/// so a node is always placed after all of its predecessors.
+public final class Schedule {
+    private final List<Node> nodes;
+    private final Map<Node, Integer> positions;
+
+    private Schedule(List<Node> nodes, Map<Node, Integer> positions) {
+        this.nodes = nodes;
+        this.positions = positions;
+    }
+
+    public static Schedule of(IrGraph graph) {
+        List<Node> nodes = new ArrayList<>();
+        Map<Node, Integer> positions = new IdentityHashMap<>();
+        // iterative version of CodeGenerator#scan, large graphs would overflow the stack otherwise
+        Deque<Node> stack = new ArrayDeque<>();
+        Deque<Integer> nextPredecessor = new ArrayDeque<>();
+        stack.push(graph.endBlock());
+        nextPredecessor.push(0);
+        while (!stack.isEmpty()) {
+            Node node = stack.peek();
+            int idx = nextPredecessor.pop();
+            List<? extends Node> predecessors = node.predecessors();
+            while (idx < predecessors.size() && positions.containsKey(predecessors.get(idx))) {
+                idx++;
+            }
+            if (idx < predecessors.size()) {
+                nextPredecessor.push(idx + 1);
+                stack.push(predecessors.get(idx));
+                nextPredecessor.push(0);
+                continue;
+            }
+            stack.pop();
+            if (!positions.containsKey(node)) {
+                positions.put(node, nodes.size());
+                nodes.add(node);
+            }
+        }
+        return new Schedule(Collections.unmodifiableList(nodes), positions);
+    }
+
+    /// {@return the scheduled nodes in emission order}
+    public List<Node> nodes() {
+        return this.nodes;
+    }
+
+    /// {@return the index of the node in [#nodes()]}
+    public int position(Node node) {
+        return this.positions.get(node);
+    }
+
+    public boolean contains(Node node) {
+        return this.positions.containsKey(node);
+    }
+}
@@ -0,0 +1,12 @@
+package edu.kit.kastel.vads.compiler.backend.aasm;
+
+import edu.kit.kastel.vads.compiler.backend.regalloc.Register;
+
+/// A spilled value that lives in the stack frame instead of a [PhysicalRegister].
+/// The [CodeGenerator] decides where exactly the slot with the given index is placed.
+public record StackSlot(int index) implements Register {
+    @Override
+    public String toString() {
+        return "slot" + index();
+    }
+}
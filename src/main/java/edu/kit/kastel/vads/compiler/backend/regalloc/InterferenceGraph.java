@@ -0,0 +1,56 @@
+package edu.kit.kastel.vads.compiler.backend.regalloc;
+
+import java.util.Arrays;
+
+/// An undirected graph over dense vertex indices.
+/// Two vertices are connected if their values are live at the same time
+/// and therefore must not share a register.
+///
+/// The neighbours of each vertex are kept in a growing `int` array, so an edge takes two `int`s
+/// instead of two boxed entries of a hash set.
+public final class InterferenceGraph {
+    private static final int[] NO_NEIGHBOURS = new int[0];
+
+    private final int[][] neighbours;
+    private final int[] degrees;
+
+    public InterferenceGraph(int size) {
+        this.neighbours = new int[size][];
+        Arrays.fill(this.neighbours, NO_NEIGHBOURS);
+        this.degrees = new int[size];
+    }
+
+    public int size() {
+        return this.neighbours.length;
+    }
+
+    /// Connects the two vertices. Each edge must only be added once.
+    public void addEdge(int a, int b) {
+        if (a == b) {
+            return;
+        }
+        append(a, b);
+        append(b, a);
+    }
+
+    public int degree(int vertex) {
+        return this.degrees[vertex];
+    }
+
+    /// {@return the neighbour of the vertex at the given index}
+    /// The index ranges from `0` to [#degree(int)] exclusive.
+    public int neighbour(int vertex, int index) {
+        return this.neighbours[vertex][index];
+    }
+
+    private void append(int vertex, int neighbour) {
+        int[] current = this.neighbours[vertex];
+        int degree = this.degrees[vertex];
+        if (degree == current.length) {
+            current = Arrays.copyOf(current, Math.max(4, 2 * degree));
+            this.neighbours[vertex] = current;
+        }
+        current[degree] = neighbour;
+        this.degrees[vertex] = degree + 1;
+    }
+}
@@ -0,0 +1,18 @@
+package edu.kit.kastel.vads.compiler.backend.regalloc;
+
+import edu.kit.kastel.vads.compiler.ir.node.Node;
+
+/// The range of schedule positions in which the value of a node must be kept in a register.
+/// The value is defined at `start` and read for the last time at `end`.
+/// Two intervals interfere if one is defined strictly before the other one ends,
+/// a value read for the last time at a position can share its register with the value defined there.
+public record LiveInterval(Node node, int start, int end) {
+
+    public LiveInterval {
+        assert start <= end : "interval ends before it starts";
+    }
+
+    public boolean interferes(LiveInterval other) {
+        return this.start < other.end && other.start < this.end;
+    }
+}
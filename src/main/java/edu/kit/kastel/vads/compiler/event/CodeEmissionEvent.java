@@ -0,0 +1,20 @@
+package edu.kit.kastel.vads.compiler.event;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/// The emission of the assembly of a function, after its registers were allocated.
+@Name("edu.kit.kastel.vads.compiler.CodeEmission")
+@Label("Code Emission")
+@Category({"Compiler", "Backend"})
+@Description("Emission of the assembly of a function")
+public final class CodeEmissionEvent extends Event {
+    @Label("Function")
+    public String function = "";
+
+    @Label("Instructions")
+    public int instructions;
+}
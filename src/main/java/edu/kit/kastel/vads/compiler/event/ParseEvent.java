@@ -0,0 +1,23 @@
+package edu.kit.kastel.vads.compiler.event;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/// Lexing and parsing of a file. The lexer runs on demand of the parser, so both are measured together.
+@Name("edu.kit.kastel.vads.compiler.Parse")
+@Label("Parse")
+@Category({"Compiler", "Frontend"})
+@Description("Lexing and parsing of a source file")
+public final class ParseEvent extends Event {
+    @Label("File")
+    public String file = "";
+
+    @Label("Tokens")
+    public int tokens;
+
+    @Label("AST Nodes")
+    public int astNodes;
+}
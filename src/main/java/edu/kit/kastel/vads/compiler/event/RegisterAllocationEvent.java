@@ -0,0 +1,31 @@
+package edu.kit.kastel.vads.compiler.event;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/// The register allocation of a function.
+@Name("edu.kit.kastel.vads.compiler.RegisterAllocation")
+@Label("Register Allocation")
+@Category({"Compiler", "Backend"})
+@Description("Register allocation of a function")
+public final class RegisterAllocationEvent extends Event {
+    @Label("Function")
+    public String function = "";
+
+    @Label("Allocator")
+    public String allocator = "";
+
+    @Label("IR Nodes")
+    @Description("Nodes reachable from the end block of the graph")
+    public int irNodes;
+
+    @Label("Values")
+    @Description("Nodes that got a register or a stack slot")
+    public int values;
+
+    @Label("Spilled Values")
+    public int spilled;
+}
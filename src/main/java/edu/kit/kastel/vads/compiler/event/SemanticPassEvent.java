@@ -0,0 +1,20 @@
+package edu.kit.kastel.vads.compiler.event;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/// A single pass of the semantic analysis over the whole program.
+@Name("edu.kit.kastel.vads.compiler.SemanticPass")
+@Label("Semantic Pass")
+@Category({"Compiler", "Frontend"})
+@Description("A pass of the semantic analysis")
+public final class SemanticPassEvent extends Event {
+    @Label("Pass")
+    public String pass = "";
+
+    @Label("AST Nodes")
+    public int astNodes;
+}
@@ -0,0 +1,173 @@
+package edu.kit.kastel.vads.compiler.event;
+
+import edu.kit.kastel.vads.compiler.ir.IrGraph;
+import edu.kit.kastel.vads.compiler.ir.node.Node;
+import edu.kit.kastel.vads.compiler.parser.ast.*;
+import edu.kit.kastel.vads.compiler.parser.visitor.RecursivePostorderVisitor;
+import edu.kit.kastel.vads.compiler.parser.visitor.Unit;
+import edu.kit.kastel.vads.compiler.parser.visitor.Visitor;
+
+import java.util.ArrayDeque;
+import java.util.BitSet;
+import java.util.Deque;
+
+/// Computes the sizes the events report. These walk the whole tree or graph,
+/// so they should only be called if the event is actually recorded.
+public final class Sizes {
+    private Sizes() {
+
+    }
+
+    /// {@return the number of trees in the given tree, including itself}
+    public static int treeSize(Tree tree) {
+        Counter counter = new Counter();
+        tree.accept(new RecursivePostorderVisitor<>(counter), Unit.INSTANCE);
+        return counter.count;
+    }
+
+    /// {@return the number of nodes reachable from the end block of the given graph}
+    public static int nodeCount(IrGraph graph) {
+        BitSet visited = new BitSet(graph.nodeCount());
+        Deque<Node> worklist = new ArrayDeque<>();
+        worklist.push(graph.endBlock());
+        visited.set(graph.endBlock().id());
+        while (!worklist.isEmpty()) {
+            for (Node predecessor : worklist.pop().predecessors()) {
+                if (!visited.get(predecessor.id())) {
+                    visited.set(predecessor.id());
+                    worklist.push(predecessor);
+                }
+            }
+        }
+        return visited.cardinality();
+    }
+
+    /// {@return the number of instructions in the given assembly, labels and directives are not counted}
+    public static int instructionCount(CharSequence assembly, int start, int end) {
+        int count = 0;
+        boolean lineStart = true;
+        for (int i = start; i < end; i++) {
+            char c = assembly.charAt(i);
+            // instructions are indented, labels and directives are not
+            if (lineStart && c == ' ') {
+                count++;
+            }
+            lineStart = c == '\n';
+        }
+        return count;
+    }
+
+    private static final class Counter implements Visitor<Unit, Unit> {
+        private int count;
+
+        private Unit count() {
+            this.count++;
+            return Unit.INSTANCE;
+        }
+
+        @Override
+        public Unit visit(AssignmentTree assignmentTree, Unit data) {
+            return count();
+        }
+
+        @Override
+        public Unit visit(BinaryOperationTree binaryOperationTree, Unit data) {
+            return count();
+        }
+
+        @Override
+        public Unit visit(BlockTree blockTree, Unit data) {
+            return count();
+        }
+
+        @Override
+        public Unit visit(DeclarationTree declarationTree, Unit data) {
+            return count();
+        }
+
+        @Override
+        public Unit visit(FunctionTree functionTree, Unit data) {
+            return count();
+        }
+
+        @Override
+        public Unit visit(IdentExpressionTree identExpressionTree, Unit data) {
+            return count();
+        }
+
+        @Override
+        public Unit visit(LiteralTree literalTree, Unit data) {
+            return count();
+        }
+
+        @Override
+        public Unit visit(LValueIdentTree lValueIdentTree, Unit data) {
+            return count();
+        }
+
+        @Override
+        public Unit visit(NameTree nameTree, Unit data) {
+            return count();
+        }
+
+        @Override
+        public Unit visit(NegateTree negateTree, Unit data) {
+            return count();
+        }
+
+        @Override
+        public Unit visit(ProgramTree programTree, Unit data) {
+            return count();
+        }
+
+        @Override
+        public Unit visit(ReturnTree returnTree, Unit data) {
+            return count();
+        }
+
+        @Override
+        public Unit visit(TypeTree typeTree, Unit data) {
+            return count();
+        }
+
+        @Override
+        public Unit visit(WhileTree whileTree, Unit data) {
+            return count();
+        }
+
+        @Override
+        public Unit visit(BreakTree breakTree, Unit data) {
+            return count();
+        }
+
+        @Override
+        public Unit visit(IfTree ifTree, Unit data) {
+            return count();
+        }
+
+        @Override
+        public Unit visit(ForTree forTree, Unit data) {
+            return count();
+        }
+
+        @Override
+        public Unit visit(ContinueTree continueTree, Unit data) {
+            return count();
+        }
+
+        @Override
+        public Unit visit(TernaryOperationTree ternaryOperationTree, Unit data) {
+            return count();
+        }
+
+        @Override
+        public Unit visit(BoolLiteralTree boolLiteralTree, Unit data) {
+            return count();
+        }
+
+        @Override
+        public Unit visit(LogicalNotTree logicalNotTree, Unit data) {
+            return count();
+        }
+    }
+}
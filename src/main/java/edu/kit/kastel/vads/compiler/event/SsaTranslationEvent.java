@@ -0,0 +1,24 @@
+package edu.kit.kastel.vads.compiler.event;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/// The translation of a function into SSA form.
+@Name("edu.kit.kastel.vads.compiler.SsaTranslation")
+@Label("SSA Translation")
+@Category({"Compiler", "Middle End"})
+@Description("Translation of a function into an SSA graph")
+public final class SsaTranslationEvent extends Event {
+    @Label("Function")
+    public String function = "";
+
+    @Label("AST Nodes")
+    public int astNodes;
+
+    @Label("IR Nodes")
+    @Description("Nodes reachable from the end block of the graph")
+    public int irNodes;
+}
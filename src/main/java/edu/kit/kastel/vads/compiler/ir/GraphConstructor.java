@@ -2,10 +2,12 @@ package edu.kit.kastel.vads.compiler.ir;
 
 import edu.kit.kastel.vads.compiler.ir.node.*;
 import edu.kit.kastel.vads.compiler.ir.optimize.Optimizer;
+import edu.kit.kastel.vads.compiler.ir.util.NodeSupport;
 import edu.kit.kastel.vads.compiler.parser.symbol.Name;
 
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -18,6 +20,8 @@ class GraphConstructor {
     private final Map<Block, Node> currentSideEffect = new HashMap<>();
     private final Map<Block, Phi> incompleteSideEffectPhis = new HashMap<>();
     private final Set<Block> sealedBlocks = new HashSet<>();
+    // removed trivial phis, mapped to the value replacing them
+    private final Map<Phi, Node> replacedPhis = new HashMap<>();
     private Block currentBlock;
 
     public GraphConstructor(Optimizer optimizer, String name) {
@@ -87,9 +91,9 @@ class GraphConstructor {
         return this.currentBlock;
     }
 
-    public Phi newPhi() {
+    public Phi newPhi(Block block) {
         // don't transform phi directly, it is not ready yet
-        return new Phi(currentBlock());
+        return new Phi(block);
     }
 
     public IrGraph graph() {
@@ -103,7 +107,7 @@ class GraphConstructor {
     Node readVariable(Name variable, Block block) {
         Node node = this.currentDef.getOrDefault(variable, Map.of()).get(block);
         if (node != null) {
-            return node;
+            return replacement(node);
         }
         return readVariableRecursive(variable, block);
     }
@@ -111,12 +115,12 @@ class GraphConstructor {
     private Node readVariableRecursive(Name variable, Block block) {
         Node val;
         if (!this.sealedBlocks.contains(block)) {
-            val = newPhi();
+            val = newPhi(block);
             this.incompletePhis.computeIfAbsent(block, _ -> new HashMap<>()).put(variable, (Phi) val);
-        } else if (block.predecessors().size() == 1) {
-            val = readVariable(variable, block.predecessors().getFirst().block());
+        } else if (block.predecessorCount() == 1) {
+            val = readVariable(variable, block.predecessor(0).block());
         } else {
-            val = newPhi();
+            val = newPhi(block);
             writeVariable(variable, block, val);
             val = addPhiOperands(variable, (Phi) val);
         }
@@ -131,18 +135,54 @@ class GraphConstructor {
         return tryRemoveTrivialPhi(phi);
     }
 
+    /// Replaces the phi with its only operand if all of its operands are that operand or the phi itself,
+    /// as described by Braun et al.
+    /// Phis using the removed phi might become trivial in turn, so they are tried again.
+    /// {@return the value replacing the phi, or the phi itself if it is not trivial}
     Node tryRemoveTrivialPhi(Phi phi) {
-        // TODO: the paper shows how to remove trivial phis.
-        // as this is not a problem in Lab 1 and it is just
-        // a simplification, we recommend to implement this
-        // part yourself.
-        return phi;
+        Node same = null;
+        for (Node operand : phi.predecessors()) {
+            if (operand == same || operand == phi) {
+                continue;
+            }
+            if (same != null) {
+                // the phi merges at least two values
+                return phi;
+            }
+            same = operand;
+        }
+        if (same == null) {
+            // the phi is unreachable or in the start block, there is no value to replace it with
+            return phi;
+        }
+        phi.clearPredecessors();
+        this.replacedPhis.put(phi, same);
+        List<Node> users = NodeSupport.replaceAllUses(phi, same);
+        for (Node user : users) {
+            // phis still collecting their operands are tried once they are complete
+            if (user instanceof Phi userPhi && userPhi.predecessorCount() == userPhi.block().predecessorCount()) {
+                tryRemoveTrivialPhi(userPhi);
+            }
+        }
+        return same;
+    }
+
+    /// {@return the value currently representing the node, which differs if it is a removed trivial phi}
+    private Node replacement(Node node) {
+        while (node instanceof Phi phi && this.replacedPhis.containsKey(phi)) {
+            node = this.replacedPhis.get(phi);
+        }
+        return node;
     }
 
     void sealBlock(Block block) {
         for (Map.Entry<Name, Phi> entry : this.incompletePhis.getOrDefault(block, Map.of()).entrySet()) {
             addPhiOperands(entry.getKey(), entry.getValue());
         }
+        Phi sideEffectPhi = this.incompleteSideEffectPhis.get(block);
+        if (sideEffectPhi != null) {
+            addPhiOperands(sideEffectPhi);
+        }
         this.sealedBlocks.add(block);
     }
 
@@ -161,7 +201,7 @@ class GraphConstructor {
     private Node readSideEffect(Block block) {
         Node node = this.currentSideEffect.get(block);
         if (node != null) {
-            return node;
+            return replacement(node);
         }
         return readSideEffectRecursive(block);
     }
@@ -169,13 +209,13 @@ class GraphConstructor {
     private Node readSideEffectRecursive(Block block) {
         Node val;
         if (!this.sealedBlocks.contains(block)) {
-            val = newPhi();
+            val = newPhi(block);
             Phi old = this.incompleteSideEffectPhis.put(block, (Phi) val);
             assert old == null : "double readSideEffectRecursive for " + block;
-        } else if (block.predecessors().size() == 1) {
-            val = readSideEffect(block.predecessors().getFirst().block());
+        } else if (block.predecessorCount() == 1) {
+            val = readSideEffect(block.predecessor(0).block());
         } else {
-            val = newPhi();
+            val = newPhi(block);
             writeSideEffect(block, val);
             val = addPhiOperands((Phi) val);
         }
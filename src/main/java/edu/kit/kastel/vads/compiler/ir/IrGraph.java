@@ -3,14 +3,22 @@ package edu.kit.kastel.vads.compiler.ir;
 import edu.kit.kastel.vads.compiler.ir.node.Block;
 import edu.kit.kastel.vads.compiler.ir.node.Node;
 
-import java.util.IdentityHashMap;
-import java.util.LinkedHashSet;
-import java.util.Map;
-import java.util.SequencedSet;
-import java.util.Set;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
 
+/// A graph of nodes in SSA form.
+/// Each node gets a dense [Node#id()] when it is created, which indexes the def-use edges of the graph:
+/// for each node, the nodes using it are kept in an array that grows as needed.
 public class IrGraph {
-    private final Map<Node, SequencedSet<Node>> successors = new IdentityHashMap<>();
+    private static final Node[] NO_SUCCESSORS = new Node[0];
+
+    // indexed by the id of a node, each array only holds successorCounts[id] successors
+    private Node[][] successors = new Node[64][];
+    private int[] successorCounts = new int[64];
+    private int nodeCount;
     private final Block startBlock;
     private final Block endBlock;
     private final String name;
@@ -21,21 +29,69 @@ public class IrGraph {
         this.endBlock = new Block(this);
     }
 
+    /// Assigns the next id to a node of this graph, only to be called by [Node] on creation.
+    /// {@return the id of the new node}
+    public int register(Node node) {
+        if (node.graph() != this) {
+            throw new IllegalArgumentException(node + " does not belong to this graph");
+        }
+        int id = this.nodeCount++;
+        if (id == this.successors.length) {
+            this.successors = Arrays.copyOf(this.successors, id * 2);
+            this.successorCounts = Arrays.copyOf(this.successorCounts, id * 2);
+        }
+        this.successors[id] = NO_SUCCESSORS;
+        return id;
+    }
+
+    /// Records that `successor` uses `node` as an input, once for each time it does.
     public void registerSuccessor(Node node, Node successor) {
-        this.successors.computeIfAbsent(node, _ -> new LinkedHashSet<>()).add(successor);
+        int id = node.id();
+        int count = this.successorCounts[id];
+        if (count == this.successors[id].length) {
+            this.successors[id] = Arrays.copyOf(this.successors[id], Math.max(2, count * 2));
+        }
+        this.successors[id][count] = successor;
+        this.successorCounts[id] = count + 1;
     }
 
+    /// Removes one use of `node` by `oldSuccessor`, the order of the remaining successors may change.
     public void removeSuccessor(Node node, Node oldSuccessor) {
-        this.successors.computeIfAbsent(node, _ -> new LinkedHashSet<>()).remove(oldSuccessor);
+        int id = node.id();
+        Node[] nodes = this.successors[id];
+        int count = this.successorCounts[id];
+        for (int i = 0; i < count; i++) {
+            if (nodes[i] == oldSuccessor) {
+                nodes[i] = nodes[count - 1];
+                nodes[count - 1] = null;
+                this.successorCounts[id] = count - 1;
+                return;
+            }
+        }
     }
 
-    /// {@return the set of nodes that have the given node as one of their inputs}
-    public Set<Node> successors(Node node) {
-        SequencedSet<Node> successors = this.successors.get(node);
-        if (successors == null) {
-            return Set.of();
-        }
-        return Set.copyOf(successors);
+    /// {@return the nodes that have the given node as one of their inputs}
+    /// A node using the given node several times is contained several times.
+    /// The list is a read-only view that reflects later changes to the graph, so it must not be
+    /// iterated while the uses of the given node change. Copy it first in that case.
+    public List<Node> successors(Node node) {
+        return new Successors(node.id());
+    }
+
+    /// {@return the number of uses of the given node}
+    public int successorCount(Node node) {
+        return this.successorCounts[node.id()];
+    }
+
+    /// {@return the successor at the given index, which must be less than the [#successorCount(Node)]}
+    public Node successor(Node node, int index) {
+        int id = node.id();
+        return this.successors[id][Objects.checkIndex(index, this.successorCounts[id])];
+    }
+
+    /// {@return the number of nodes created in this graph, all node ids are less than that}
+    public int nodeCount() {
+        return this.nodeCount;
     }
 
     public Block startBlock() {
@@ -50,4 +106,22 @@ public class IrGraph {
     public String name() {
         return name;
     }
+
+    private final class Successors extends AbstractList<Node> implements RandomAccess {
+        private final int id;
+
+        Successors(int id) {
+            this.id = id;
+        }
+
+        @Override
+        public Node get(int index) {
+            return IrGraph.this.successors[this.id][Objects.checkIndex(index, size())];
+        }
+
+        @Override
+        public int size() {
+            return IrGraph.this.successorCounts[this.id];
+        }
+    }
 }
@@ -1,5 +1,7 @@
 package edu.kit.kastel.vads.compiler.ir;
 
+import edu.kit.kastel.vads.compiler.event.Sizes;
+import edu.kit.kastel.vads.compiler.event.SsaTranslationEvent;
 import edu.kit.kastel.vads.compiler.ir.node.Block;
 import edu.kit.kastel.vads.compiler.ir.node.DivNode;
 import edu.kit.kastel.vads.compiler.ir.node.ModNode;
@@ -36,9 +38,19 @@ public class SsaTranslation {
     }
 
     public IrGraph translate() {
+        SsaTranslationEvent event = new SsaTranslationEvent();
+        event.begin();
         var visitor = new SsaTranslationVisitor();
         this.function.accept(visitor, this);
-        return this.constructor.graph();
+        IrGraph graph = this.constructor.graph();
+        event.end();
+        if (event.shouldCommit()) {
+            event.function = graph.name();
+            event.astNodes = Sizes.treeSize(this.function);
+            event.irNodes = Sizes.nodeCount(graph);
+            event.commit();
+        }
+        return graph;
     }
 
     private void writeVariable(Name variable, Block block, Node value) {
@@ -97,7 +109,7 @@ public class SsaTranslation {
             };
 
             switch (assignmentTree.lValue()) {
-                case LValueIdentTree(var name) -> {
+                case LValueIdentTree(var name, _) -> {
                     Node rhs = assignmentTree.expression().accept(this, data).orElseThrow();
                     if (desugar != null) {
                         rhs = desugar.apply(data.readVariable(name.name(), data.currentBlock()), rhs);
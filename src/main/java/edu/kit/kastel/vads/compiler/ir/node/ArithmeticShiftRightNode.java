@@ -0,0 +1,9 @@
+package edu.kit.kastel.vads.compiler.ir.node;
+
+/// Shifts the left operand right, filling in copies of its sign bit.
+/// Unlike [ShiftRightNode], which fills in zeros, this rounds negative values down.
+public final class ArithmeticShiftRightNode extends BinaryOperationNode {
+    public ArithmeticShiftRightNode(Block block, Node left, Node right) {
+        super(block, left, right);
+    }
+}
@@ -1,6 +1,6 @@
 package edu.kit.kastel.vads.compiler.ir.node;
 
-public sealed abstract class BinaryOperationNode extends Node permits AddNode, DivNode, ModNode, MulNode, SubNode, CompareEqualNode, CompareGreaterEqualNode, CompareNotEqualNode, CompareLessEqualNode, CompareGreaterNode, CompareLessNode, BitwiseOrNode, BitwiseAndNode, BitwiseXorNode, ShiftLeftNode, ShiftRightNode, LogicalOrNode, LogicalAndNode {
+public sealed abstract class BinaryOperationNode extends Node permits AddNode, DivNode, ModNode, MulNode, MulHighNode, SubNode, CompareEqualNode, CompareGreaterEqualNode, CompareNotEqualNode, CompareLessEqualNode, CompareGreaterNode, CompareLessNode, BitwiseOrNode, BitwiseAndNode, BitwiseXorNode, ShiftLeftNode, ShiftRightNode, ArithmeticShiftRightNode, LogicalOrNode, LogicalAndNode {
     public static final int LEFT = 0;
     public static final int RIGHT = 1;
 
@@ -1,14 +1,13 @@
 package edu.kit.kastel.vads.compiler.ir.node;
 
 public final class LogicalNotNode extends Node {
-    private final Node operand;
+    public static final int OPERAND = 0;
 
     public LogicalNotNode(Block block, Node operand) {
-        super(block);
-        this.operand = operand;
+        super(block, operand);
     }
 
     public Node operand() {
-        return operand;
+        return predecessor(OPERAND);
     }
 }
@@ -5,18 +5,22 @@ import edu.kit.kastel.vads.compiler.ir.IrGraph;
 import edu.kit.kastel.vads.compiler.ir.util.DebugInfoHelper;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /// The base class for all nodes.
 public sealed abstract class Node permits BinaryOperationNode, Block, BreakNode, ConstBoolNode, ConstIntNode, ContinueNode, IfNode, Phi, ProjNode, ReturnNode, StartNode, WhileNode, LogicalNotNode {
     private final IrGraph graph;
     private final Block block;
+    private final int id;
     private final List<Node> predecessors = new ArrayList<>();
+    private final List<Node> predecessorsView = Collections.unmodifiableList(this.predecessors);
     private final DebugInfo debugInfo;
 
     protected Node(Block block, Node... predecessors) {
         this.graph = block.graph();
         this.block = block;
+        this.id = this.graph.register(this);
         this.predecessors.addAll(List.of(predecessors));
         for (Node predecessor : predecessors) {
             graph.registerSuccessor(predecessor, this);
@@ -28,6 +32,7 @@ public sealed abstract class Node permits BinaryOperationNode, Block, BreakNode,
         assert this.getClass() == Block.class : "must be used by Block only";
         this.graph = graph;
         this.block = (Block) this;
+        this.id = graph.register(this);
         this.debugInfo = DebugInfo.NoInfo.INSTANCE;
     }
 
@@ -39,8 +44,23 @@ public sealed abstract class Node permits BinaryOperationNode, Block, BreakNode,
         return this.block;
     }
 
+    /// {@return the id of this node, unique in its graph}
+    /// The ids are dense and start at zero, so facts about nodes can be stored in arrays indexed by them,
+    /// see [IrGraph#nodeCount()].
+    public final int id() {
+        return this.id;
+    }
+
+    /// {@return the inputs of this node}
+    /// The list is a read-only view that reflects later changes to the inputs, so it must not be
+    /// iterated while they change. Copy it first in that case.
     public final List<? extends Node> predecessors() {
-        return List.copyOf(this.predecessors);
+        return this.predecessorsView;
+    }
+
+    /// {@return the number of inputs of this node}
+    public final int predecessorCount() {
+        return this.predecessors.size();
     }
 
     public final void setPredecessor(int idx, Node node) {
@@ -54,6 +74,14 @@ public sealed abstract class Node permits BinaryOperationNode, Block, BreakNode,
         this.graph.registerSuccessor(node, this);
     }
 
+    /// Removes all inputs of this node, so it no longer counts as a use of them.
+    public final void clearPredecessors() {
+        for (Node predecessor : this.predecessors) {
+            this.graph.removeSuccessor(predecessor, this);
+        }
+        this.predecessors.clear();
+    }
+
     public final Node predecessor(int idx) {
         return this.predecessors.get(idx);
     }
@@ -0,0 +1,43 @@
+package edu.kit.kastel.vads.compiler.ir.optimize;
+
+import edu.kit.kastel.vads.compiler.ir.IrGraph;
+import edu.kit.kastel.vads.compiler.ir.node.DivNode;
+import edu.kit.kastel.vads.compiler.ir.node.ModNode;
+import edu.kit.kastel.vads.compiler.ir.node.Node;
+import edu.kit.kastel.vads.compiler.ir.util.NodeSupport;
+
+import java.util.List;
+
+/// Unlinks the nodes of a graph whose results are never used.
+/// A node is live if the end block depends on it, either through the returned values or through the
+/// side effect chain. [DivNode]s and [ModNode]s, which can trap, and the control nodes are linked into that chain
+/// by their side effect projections, so they stay live even if their results are unused.
+///
+/// All other nodes are dead. Dead nodes still using a live node are removed from its def-use edges,
+/// so the [IrGraph#successors(Node)] of live nodes only contain live nodes afterward.
+/// These are the duplicates [LocalValueNumbering] replaced, and the nodes other passes replaced or bypassed.
+public class DeadCodeElimination implements GraphPass {
+
+    /// Removes the dead users of all live nodes.
+    /// {@return the number of dead nodes that were unlinked}
+    @Override
+    public int run(IrGraph graph) {
+        List<Node> live = NodeSupport.inputsFirst(graph);
+        boolean[] isLive = new boolean[graph.nodeCount()];
+        for (Node node : live) {
+            isLive[node.id()] = true;
+        }
+        int removed = 0;
+        for (Node node : live) {
+            // copy, unlinking a user removes it from the list
+            for (Node user : List.copyOf(graph.successors(node))) {
+                // a user using the node several times is only unlinked once
+                if (!isLive[user.id()] && user.predecessorCount() > 0) {
+                    user.clearPredecessors();
+                    removed++;
+                }
+            }
+        }
+        return removed;
+    }
+}
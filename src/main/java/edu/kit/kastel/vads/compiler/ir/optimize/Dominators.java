@@ -0,0 +1,175 @@
+package edu.kit.kastel.vads.compiler.ir.optimize;
+
+import edu.kit.kastel.vads.compiler.ir.IrGraph;
+import edu.kit.kastel.vads.compiler.ir.node.Block;
+import edu.kit.kastel.vads.compiler.ir.node.Node;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/// The dominator tree of the blocks of a graph, computed with the algorithm by Cooper, Harvey and Kennedy.
+/// The control flow edges are derived from the inputs of the blocks: each input of a block is a control node
+/// in a predecessor block.
+/// Blocks that cannot be reached from the start block only dominate themselves.
+final class Dominators {
+    private static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    // per node id of a block: its number in a preorder walk of the dominator tree,
+    // and the highest number in its subtree
+    private final int[] preorder;
+    private final int[] last;
+
+    Dominators(IrGraph graph, List<Node> nodes) {
+        int count = graph.nodeCount();
+        List<Block> blocks = new ArrayList<>();
+        List<List<Block>> successors = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            successors.add(null);
+        }
+        for (Node node : nodes) {
+            if (node instanceof Block block) {
+                blocks.add(block);
+                successors.set(block.id(), new ArrayList<>());
+            }
+        }
+        for (Block block : blocks) {
+            for (Node predecessor : block.predecessors()) {
+                List<Block> predecessorSuccessors = successors.get(predecessor.block().id());
+                if (predecessorSuccessors != null) {
+                    predecessorSuccessors.add(block);
+                }
+            }
+        }
+
+        // number the reachable blocks in reverse postorder
+        List<Block> reversePostorder = reversePostorder(graph.startBlock(), successors, count);
+        int[] order = new int[count];
+        Arrays.fill(order, -1);
+        for (int i = 0; i < reversePostorder.size(); i++) {
+            order[reversePostorder.get(i).id()] = i;
+        }
+
+        // idom[i] is the reverse postorder number of the immediate dominator of the i-th block
+        int[] idom = new int[reversePostorder.size()];
+        Arrays.fill(idom, -1);
+        idom[0] = 0;
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int i = 1; i < reversePostorder.size(); i++) {
+                int newIdom = -1;
+                for (Node predecessor : reversePostorder.get(i).predecessors()) {
+                    int p = order[predecessor.block().id()];
+                    if (p < 0 || idom[p] < 0) {
+                        continue;
+                    }
+                    newIdom = newIdom < 0 ? p : intersect(idom, p, newIdom);
+                }
+                if (idom[i] != newIdom) {
+                    idom[i] = newIdom;
+                    changed = true;
+                }
+            }
+        }
+
+        this.preorder = new int[count];
+        this.last = new int[count];
+        Arrays.fill(this.preorder, UNREACHABLE);
+        number(reversePostorder, idom);
+    }
+
+    /// {@return whether every path from the start block to `b` goes through `a`}
+    boolean dominates(Block a, Block b) {
+        if (a == b) {
+            return true;
+        }
+        int pa = this.preorder[a.id()];
+        int pb = this.preorder[b.id()];
+        return pa != UNREACHABLE && pb != UNREACHABLE && pa <= pb && pb <= this.last[a.id()];
+    }
+
+    /// {@return the number of the block in a preorder walk of the dominator tree}
+    /// Dominators have lower numbers than the blocks they dominate, unreachable blocks come last.
+    int preorder(Block block) {
+        return this.preorder[block.id()];
+    }
+
+    private void number(List<Block> reversePostorder, int[] idom) {
+        int size = reversePostorder.size();
+        int[] childCounts = new int[size + 1];
+        for (int i = 1; i < size; i++) {
+            childCounts[idom[i] + 1]++;
+        }
+        // children of the i-th block are children[childStarts[i]] until children[childStarts[i + 1]]
+        int[] childStarts = new int[size + 1];
+        for (int i = 0; i < size; i++) {
+            childStarts[i + 1] = childStarts[i] + childCounts[i + 1];
+        }
+        int[] children = new int[Math.max(0, size - 1)];
+        int[] filled = Arrays.copyOf(childStarts, size);
+        for (int i = 1; i < size; i++) {
+            children[filled[idom[i]]++] = i;
+        }
+
+        int[] stack = new int[size];
+        int[] nextChild = new int[size];
+        int stackSize = 0;
+        int counter = 0;
+        stack[stackSize++] = 0;
+        this.preorder[reversePostorder.getFirst().id()] = counter++;
+        while (stackSize > 0) {
+            int current = stack[stackSize - 1];
+            int child = childStarts[current] + nextChild[current]++;
+            if (child < childStarts[current + 1]) {
+                int next = children[child];
+                this.preorder[reversePostorder.get(next).id()] = counter++;
+                stack[stackSize++] = next;
+            } else {
+                this.last[reversePostorder.get(current).id()] = counter - 1;
+                stackSize--;
+            }
+        }
+    }
+
+    private static int intersect(int[] idom, int a, int b) {
+        while (a != b) {
+            while (a > b) {
+                a = idom[a];
+            }
+            while (b > a) {
+                b = idom[b];
+            }
+        }
+        return a;
+    }
+
+    private static List<Block> reversePostorder(Block start, List<List<Block>> successors, int count) {
+        List<Block> postorder = new ArrayList<>();
+        boolean[] visited = new boolean[count];
+        Block[] stack = new Block[16];
+        int[] nextSuccessor = new int[count];
+        int size = 0;
+        stack[size++] = start;
+        visited[start.id()] = true;
+        while (size > 0) {
+            Block block = stack[size - 1];
+            List<Block> blockSuccessors = successors.get(block.id());
+            int index = nextSuccessor[block.id()]++;
+            if (blockSuccessors == null || index >= blockSuccessors.size()) {
+                postorder.add(block);
+                size--;
+                continue;
+            }
+            Block successor = blockSuccessors.get(index);
+            if (!visited[successor.id()]) {
+                visited[successor.id()] = true;
+                if (size == stack.length) {
+                    stack = Arrays.copyOf(stack, size * 2);
+                }
+                stack[size++] = successor;
+            }
+        }
+        return postorder.reversed();
+    }
+}
@@ -0,0 +1,101 @@
+package edu.kit.kastel.vads.compiler.ir.optimize;
+
+import edu.kit.kastel.vads.compiler.ir.IrGraph;
+import edu.kit.kastel.vads.compiler.ir.node.AddNode;
+import edu.kit.kastel.vads.compiler.ir.node.BinaryOperationNode;
+import edu.kit.kastel.vads.compiler.ir.node.BitwiseAndNode;
+import edu.kit.kastel.vads.compiler.ir.node.BitwiseOrNode;
+import edu.kit.kastel.vads.compiler.ir.node.BitwiseXorNode;
+import edu.kit.kastel.vads.compiler.ir.node.CompareEqualNode;
+import edu.kit.kastel.vads.compiler.ir.node.CompareNotEqualNode;
+import edu.kit.kastel.vads.compiler.ir.node.ConstBoolNode;
+import edu.kit.kastel.vads.compiler.ir.node.ConstIntNode;
+import edu.kit.kastel.vads.compiler.ir.node.DivNode;
+import edu.kit.kastel.vads.compiler.ir.node.LogicalNotNode;
+import edu.kit.kastel.vads.compiler.ir.node.ModNode;
+import edu.kit.kastel.vads.compiler.ir.node.MulHighNode;
+import edu.kit.kastel.vads.compiler.ir.node.MulNode;
+import edu.kit.kastel.vads.compiler.ir.node.Node;
+import edu.kit.kastel.vads.compiler.ir.util.NodeSupport;
+import org.jspecify.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/// Merges congruent nodes of a finished graph, unlike [LocalValueNumbering] also across blocks.
+/// Two nodes are congruent if they compute the same operation on the same inputs,
+/// a node is replaced by a congruent one if the block of that one dominates its own block.
+/// The blocks are visited in a preorder walk of their dominator tree and the nodes of a block after their inputs,
+/// so inputs are already merged when their users are looked at.
+///
+/// Only pure nodes are merged: constants, [LogicalNotNode]s and [BinaryOperationNode]s except for
+/// [DivNode] and [ModNode], which are ordered by their side effect.
+public class GlobalValueNumbering implements GraphPass {
+
+    /// Merges the congruent nodes of the graph.
+    /// {@return the number of nodes that were replaced}
+    @Override
+    public int run(IrGraph graph) {
+        List<Node> nodes = NodeSupport.inputsFirst(graph);
+        Dominators dominators = new Dominators(graph, nodes);
+        List<Node> order = new ArrayList<>(nodes);
+        // stable, so the nodes of each block stay after their inputs
+        order.sort(Comparator.comparingInt(node -> dominators.preorder(node.block())));
+
+        Map<Key, List<Node>> known = new HashMap<>();
+        int replaced = 0;
+        for (Node node : order) {
+            Key key = key(node);
+            if (key == null) {
+                continue;
+            }
+            List<Node> candidates = known.computeIfAbsent(key, _ -> new ArrayList<>(1));
+            Node leader = null;
+            for (Node candidate : candidates) {
+                if (dominators.dominates(candidate.block(), node.block())) {
+                    leader = candidate;
+                    break;
+                }
+            }
+            if (leader == null) {
+                candidates.add(node);
+                continue;
+            }
+            NodeSupport.replaceAllUses(node, leader);
+            node.clearPredecessors();
+            replaced++;
+        }
+        return replaced;
+    }
+
+    private static @Nullable Key key(Node node) {
+        return switch (node) {
+            case ConstIntNode c -> new Key(ConstIntNode.class, c.value(), -1, -1);
+            case ConstBoolNode c -> new Key(ConstBoolNode.class, c.value() ? 1 : 0, -1, -1);
+            case LogicalNotNode not -> new Key(LogicalNotNode.class, 0, not.operand().id(), -1);
+            case DivNode _, ModNode _ -> null;
+            case BinaryOperationNode binary -> {
+                int left = binary.predecessor(BinaryOperationNode.LEFT).id();
+                int right = binary.predecessor(BinaryOperationNode.RIGHT).id();
+                if (isCommutative(binary) && left > right) {
+                    yield new Key(binary.getClass(), 0, right, left);
+                }
+                yield new Key(binary.getClass(), 0, left, right);
+            }
+            default -> null;
+        };
+    }
+
+    private static boolean isCommutative(BinaryOperationNode node) {
+        return node instanceof AddNode || node instanceof MulNode || node instanceof MulHighNode
+            || node instanceof BitwiseAndNode || node instanceof BitwiseOrNode || node instanceof BitwiseXorNode
+            || node instanceof CompareEqualNode || node instanceof CompareNotEqualNode;
+    }
+
+    /// The operation of a node and the ids of its inputs, or `-1` for missing inputs.
+    private record Key(Class<? extends Node> kind, int value, int left, int right) {
+    }
+}
@@ -0,0 +1,17 @@
+package edu.kit.kastel.vads.compiler.ir.optimize;
+
+import edu.kit.kastel.vads.compiler.ir.IrGraph;
+
+/// An optimization that transforms a whole, finished graph, unlike an [Optimizer] which only sees
+/// single nodes while the graph is constructed. Passes are run by a [PassManager].
+public interface GraphPass {
+
+    /// Transforms the graph.
+    /// {@return the number of nodes the pass removed from the graph, zero if it did not change it}
+    int run(IrGraph graph);
+
+    /// {@return the name of the pass in statistics}
+    default String name() {
+        return getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,154 @@
+package edu.kit.kastel.vads.compiler.ir.optimize;
+
+import edu.kit.kastel.vads.compiler.ir.IrGraph;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/// Runs [GraphPass]es on finished graphs in a fixed order.
+/// The whole pipeline is repeated until no pass changes the graph anymore, at most for a given number of rounds,
+/// as one pass can enable another one that already ran.
+///
+/// The pipeline is chosen by the optimization level, which is set by the `OPT_LEVEL` environment variable
+/// or by passing e.g. `-DoptLevel=2` to the compiler as a JVM argument:
+/// - `0` runs no passes, for the fastest compilation.
+/// - `1` runs each pass once, this is the default.
+/// - `2` repeats the passes until they find nothing to do anymore.
+///
+/// For each pass, the number of runs, the time spent and the nodes it added and removed are recorded.
+/// They are printed to the standard error stream if the `PASS_STATS` environment variable or the `passStats`
+/// system property is set to `text`.
+public class PassManager {
+    private static final int FIXPOINT_ROUNDS = 16;
+
+    private final List<GraphPass> passes;
+    private final int maxRounds;
+    private final List<Statistics> statistics = new ArrayList<>();
+    private final boolean report;
+
+    /// @param passes    the passes in the order they are run in each round
+    /// @param maxRounds how often the pipeline is run at most, it stops earlier once a round changes nothing
+    public PassManager(List<? extends GraphPass> passes, int maxRounds) {
+        this(passes, maxRounds, false);
+    }
+
+    private PassManager(List<? extends GraphPass> passes, int maxRounds, boolean report) {
+        this.passes = List.copyOf(passes);
+        this.maxRounds = maxRounds;
+        this.report = report;
+        for (GraphPass pass : this.passes) {
+            this.statistics.add(new Statistics(pass.name()));
+        }
+    }
+
+    /// {@return the pipeline of the given optimization level}
+    public static PassManager forLevel(Level level) {
+        return forLevel(level, false);
+    }
+
+    private static PassManager forLevel(Level level, boolean report) {
+        return switch (level) {
+            case O0 -> new PassManager(List.of(), 0, report);
+            case O1 -> new PassManager(defaultPasses(), 1, report);
+            case O2 -> new PassManager(defaultPasses(), FIXPOINT_ROUNDS, report);
+        };
+    }
+
+    /// {@return the pipeline configured by the `OPT_LEVEL` environment variable or the `optLevel` system property}
+    public static PassManager fromEnvironment() {
+        String value = System.getProperty("optLevel", System.getenv("OPT_LEVEL"));
+        Level level = switch (value) {
+            case null -> Level.O1;
+            case "0" -> Level.O0;
+            case "1" -> Level.O1;
+            case "2" -> Level.O2;
+            default -> throw new IllegalArgumentException("unknown optimization level '" + value + "', expected 0, 1 or 2");
+        };
+        String stats = System.getProperty("passStats", System.getenv("PASS_STATS"));
+        if (stats != null && !stats.equals("text")) {
+            throw new IllegalArgumentException("unknown statistics format '" + stats + "', expected text");
+        }
+        return forLevel(level, stats != null);
+    }
+
+    private static List<GraphPass> defaultPasses() {
+        return List.of(
+            new SparseConditionalConstantPropagation(),
+            new StrengthReduction(),
+            new GlobalValueNumbering(),
+            new DeadCodeElimination()
+        );
+    }
+
+    /// Runs the pipeline on the graph.
+    /// {@return the number of rounds that were run}
+    public int run(IrGraph graph) {
+        int rounds = 0;
+        boolean changed = true;
+        while (changed && rounds < this.maxRounds) {
+            changed = false;
+            rounds++;
+            for (int i = 0; i < this.passes.size(); i++) {
+                int nodes = graph.nodeCount();
+                long start = System.nanoTime();
+                int removed = this.passes.get(i).run(graph);
+                long nanos = System.nanoTime() - start;
+                int added = graph.nodeCount() - nodes;
+                this.statistics.get(i).record(nanos, added, removed);
+                changed |= added > 0 || removed > 0;
+            }
+        }
+        return rounds;
+    }
+
+    /// {@return the statistics of each pass, summed over all graphs the pipeline ran on}
+    public List<PassStatistics> statistics() {
+        return this.statistics.stream().map(Statistics::snapshot).toList();
+    }
+
+    /// Prints the statistics of each pass, if enabled by the environment.
+    public void report(PrintStream out) {
+        if (!this.report) {
+            return;
+        }
+        out.printf(Locale.ROOT, "%-40s %6s %12s %8s %8s%n", "pass", "runs", "wall ms", "added", "removed");
+        for (PassStatistics pass : statistics()) {
+            out.printf(Locale.ROOT, "%-40s %6d %12.3f %8d %8d%n", pass.pass(), pass.runs(),
+                pass.wallNanos() / 1e6, pass.nodesAdded(), pass.nodesRemoved());
+        }
+    }
+
+    /// The optimization levels, each trading compile time for the quality of the generated code.
+    public enum Level {
+        O0, O1, O2
+    }
+
+    /// What a pass did over all of its runs.
+    public record PassStatistics(String pass, int runs, long wallNanos, long nodesAdded, long nodesRemoved) {
+    }
+
+    private static final class Statistics {
+        private final String pass;
+        private int runs;
+        private long wallNanos;
+        private long nodesAdded;
+        private long nodesRemoved;
+
+        Statistics(String pass) {
+            this.pass = pass;
+        }
+
+        void record(long nanos, int added, int removed) {
+            this.runs++;
+            this.wallNanos += nanos;
+            this.nodesAdded += added;
+            this.nodesRemoved += removed;
+        }
+
+        PassStatistics snapshot() {
+            return new PassStatistics(this.pass, this.runs, this.wallNanos, this.nodesAdded, this.nodesRemoved);
+        }
+    }
+}
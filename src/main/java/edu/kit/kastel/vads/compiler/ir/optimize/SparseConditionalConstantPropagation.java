@@ -0,0 +1,334 @@
+package edu.kit.kastel.vads.compiler.ir.optimize;
+
+import edu.kit.kastel.vads.compiler.ir.IrGraph;
+import edu.kit.kastel.vads.compiler.ir.node.*;
+import edu.kit.kastel.vads.compiler.ir.util.NodeSupport;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/// Finds the nodes of a finished graph that always have the same value and replaces them by constants,
+/// as described by Wegman and Zadeck.
+/// Each node starts out as undefined and is only lowered to a constant or to varying once its inputs are known,
+/// and only nodes in blocks that can be reached are looked at. A constant condition of an [IfNode] or a
+/// [WhileNode] keeps the branch that is never taken unreachable, so its values do not reach any [Phi].
+///
+/// A [DivNode] or [ModNode] is only folded if it cannot trap. Its result projection is then replaced by
+/// the constant and its side effect projection by the side effect it depended on.
+/// The result projection of an [IfNode] with a constant condition is replaced by the branch that is taken.
+public class SparseConditionalConstantPropagation implements GraphPass {
+    // the lattice: undefined, an int constant, a boolean constant, or varying
+    private static final byte UNDEFINED = 0;
+    private static final byte INT = 1;
+    private static final byte BOOL = 2;
+    private static final byte VARYING = 3;
+
+    private IrGraph graph;
+    private byte[] kinds;
+    private int[] values;
+    private boolean[] executable;
+    // per block id: the nodes in the block, and the blocks it jumps to
+    private List<List<Node>> blockNodes;
+    private List<List<Block>> blockSuccessors;
+    private final Deque<Node> worklist = new ArrayDeque<>();
+
+    /// Propagates the constants through the graph and folds the nodes with a constant value.
+    /// {@return the number of nodes that were replaced}
+    @Override
+    public int run(IrGraph graph) {
+        this.graph = graph;
+        List<Node> nodes = NodeSupport.inputsFirst(graph);
+        int count = graph.nodeCount();
+        this.kinds = new byte[count];
+        this.values = new int[count];
+        this.executable = new boolean[count];
+        this.blockNodes = new ArrayList<>(count);
+        this.blockSuccessors = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            this.blockNodes.add(null);
+            this.blockSuccessors.add(null);
+        }
+        for (Node node : nodes) {
+            if (node instanceof Block block) {
+                // blocks are never values
+                this.kinds[block.id()] = VARYING;
+                list(this.blockNodes, block);
+                list(this.blockSuccessors, block);
+            }
+        }
+        for (Node node : nodes) {
+            if (!(node instanceof Block)) {
+                list(this.blockNodes, node.block()).add(node);
+            } else {
+                for (Node predecessor : node.predecessors()) {
+                    list(this.blockSuccessors, predecessor.block()).add((Block) node);
+                }
+            }
+        }
+
+        markExecutable(graph.startBlock());
+        while (!this.worklist.isEmpty()) {
+            Node node = this.worklist.poll();
+            if (this.executable[node.block().id()]) {
+                visit(node);
+            }
+        }
+        return rewrite(nodes);
+    }
+
+    private void visit(Node node) {
+        switch (node) {
+            case IfNode ifNode -> {
+                byte condition = this.kinds[ifNode.condition().id()];
+                int value = this.values[ifNode.condition().id()];
+                if (condition == UNDEFINED) {
+                    return;
+                }
+                boolean thenTaken = condition == VARYING || value != 0;
+                boolean elseTaken = condition == VARYING || value == 0;
+                if (thenTaken && ifNode.thenBranch() instanceof Block then) {
+                    markExecutable(then);
+                }
+                if (elseTaken && ifNode.elseBranch() instanceof Block otherwise) {
+                    markExecutable(otherwise);
+                }
+                // the value of a conditional expression
+                if (!thenTaken) {
+                    update(ifNode, this.kinds[ifNode.elseBranch().id()], this.values[ifNode.elseBranch().id()]);
+                } else if (!elseTaken) {
+                    update(ifNode, this.kinds[ifNode.thenBranch().id()], this.values[ifNode.thenBranch().id()]);
+                } else {
+                    meet(ifNode, ifNode.thenBranch());
+                    meet(ifNode, ifNode.elseBranch());
+                }
+            }
+            case WhileNode whileNode -> {
+                byte condition = this.kinds[whileNode.condition().id()];
+                if (condition == UNDEFINED) {
+                    return;
+                }
+                if ((condition == VARYING || this.values[whileNode.condition().id()] != 0)
+                    && whileNode.body() instanceof Block body) {
+                    markExecutable(body);
+                }
+                update(whileNode, VARYING, 0);
+            }
+            case Phi phi -> {
+                for (int i = 0; i < phi.predecessorCount(); i++) {
+                    if (this.executable[phi.block().predecessor(i).block().id()]) {
+                        meet(phi, phi.predecessor(i));
+                    }
+                }
+            }
+            case ProjNode proj when proj.projectionInfo() == ProjNode.SimpleProjectionInfo.RESULT -> {
+                Node in = proj.predecessor(ProjNode.IN);
+                update(proj, this.kinds[in.id()], this.values[in.id()]);
+            }
+            case ConstIntNode c -> update(c, INT, c.value());
+            case ConstBoolNode c -> update(c, BOOL, c.value() ? 1 : 0);
+            case LogicalNotNode not -> {
+                byte kind = this.kinds[not.operand().id()];
+                update(not, kind, kind == BOOL ? this.values[not.operand().id()] ^ 1 : 0);
+            }
+            case BinaryOperationNode binary -> visitBinary(binary);
+            default -> update(node, VARYING, 0);
+        }
+    }
+
+    private void visitBinary(BinaryOperationNode node) {
+        Node leftNode = node.predecessor(BinaryOperationNode.LEFT);
+        Node rightNode = node.predecessor(BinaryOperationNode.RIGHT);
+        byte leftKind = this.kinds[leftNode.id()];
+        byte rightKind = this.kinds[rightNode.id()];
+        int left = this.values[leftNode.id()];
+        int right = this.values[rightNode.id()];
+        // one constant operand can be enough for the logical operators
+        if (node instanceof LogicalAndNode && (isConstant(leftKind, left, 0) || isConstant(rightKind, right, 0))) {
+            update(node, BOOL, 0);
+            return;
+        }
+        if (node instanceof LogicalOrNode && (isConstant(leftKind, left, 1) || isConstant(rightKind, right, 1))) {
+            update(node, BOOL, 1);
+            return;
+        }
+        if (leftKind == UNDEFINED || rightKind == UNDEFINED) {
+            return;
+        }
+        if (leftKind == VARYING || rightKind == VARYING) {
+            update(node, VARYING, 0);
+            return;
+        }
+        switch (node) {
+            case DivNode _, ModNode _ -> {
+                // idivl traps on these, which must still happen at run time
+                if (right == 0 || (left == Integer.MIN_VALUE && right == -1)) {
+                    update(node, VARYING, 0);
+                } else {
+                    update(node, INT, node instanceof DivNode ? left / right : left % right);
+                }
+            }
+            case AddNode _ -> update(node, INT, left + right);
+            case SubNode _ -> update(node, INT, left - right);
+            case MulNode _ -> update(node, INT, left * right);
+            case MulHighNode _ -> update(node, INT, (int) (((long) left * right) >> 32));
+            case BitwiseAndNode _ -> update(node, INT, left & right);
+            case BitwiseOrNode _ -> update(node, INT, left | right);
+            case BitwiseXorNode _ -> update(node, INT, left ^ right);
+            case ShiftLeftNode _ -> update(node, INT, left << right);
+            // like the shrl the backend emits
+            case ShiftRightNode _ -> update(node, INT, left >>> right);
+            case ArithmeticShiftRightNode _ -> update(node, INT, left >> right);
+            case CompareEqualNode _ -> update(node, BOOL, left == right ? 1 : 0);
+            case CompareNotEqualNode _ -> update(node, BOOL, left != right ? 1 : 0);
+            case CompareLessNode _ -> update(node, BOOL, left < right ? 1 : 0);
+            case CompareLessEqualNode _ -> update(node, BOOL, left <= right ? 1 : 0);
+            case CompareGreaterNode _ -> update(node, BOOL, left > right ? 1 : 0);
+            case CompareGreaterEqualNode _ -> update(node, BOOL, left >= right ? 1 : 0);
+            case LogicalAndNode _ -> update(node, BOOL, left & right);
+            case LogicalOrNode _ -> update(node, BOOL, left | right);
+        }
+    }
+
+    private static boolean isConstant(byte kind) {
+        return kind == INT || kind == BOOL;
+    }
+
+    private static boolean isConstant(byte kind, int value, int expected) {
+        return kind == BOOL && value == expected;
+    }
+
+    /// Lowers the value of the node to the meet of its value and the value of the other node.
+    private void meet(Node node, Node other) {
+        byte kind = this.kinds[node.id()];
+        byte otherKind = this.kinds[other.id()];
+        if (otherKind == UNDEFINED || kind == VARYING) {
+            return;
+        }
+        if (kind == UNDEFINED) {
+            update(node, otherKind, this.values[other.id()]);
+        } else if (kind != otherKind || this.values[node.id()] != this.values[other.id()]) {
+            update(node, VARYING, 0);
+        }
+    }
+
+    private void update(Node node, byte kind, int value) {
+        int id = node.id();
+        if (kind == UNDEFINED || this.kinds[id] == VARYING
+            || (this.kinds[id] == kind && this.values[id] == value)) {
+            return;
+        }
+        if (this.kinds[id] != UNDEFINED) {
+            // a node only gets lower in the lattice, two different constants make it varying
+            kind = VARYING;
+        }
+        this.kinds[id] = kind;
+        this.values[id] = value;
+        this.worklist.addAll(this.graph.successors(node));
+    }
+
+    private void markExecutable(Block start) {
+        Deque<Block> blocks = new ArrayDeque<>();
+        blocks.push(start);
+        while (!blocks.isEmpty()) {
+            Block block = blocks.pop();
+            if (this.executable[block.id()]) {
+                // a new edge into a reachable block only changes its phis
+                for (Node node : list(this.blockNodes, block)) {
+                    if (node instanceof Phi) {
+                        this.worklist.add(node);
+                    }
+                }
+                continue;
+            }
+            this.executable[block.id()] = true;
+            this.worklist.addAll(list(this.blockNodes, block));
+            for (Block successor : list(this.blockSuccessors, block)) {
+                blocks.push(successor);
+            }
+        }
+    }
+
+    private int rewrite(List<Node> nodes) {
+        Map<Integer, Node> ints = new HashMap<>();
+        Node[] bools = new Node[2];
+        for (Node node : nodes) {
+            if (node instanceof ConstIntNode c && c.block() == this.graph.startBlock()) {
+                ints.putIfAbsent(c.value(), c);
+            } else if (node instanceof ConstBoolNode c && c.block() == this.graph.startBlock()) {
+                bools[c.value() ? 1 : 0] = c;
+            }
+        }
+        // before any node is folded, as the constants created below have no lattice values
+        int replaced = selectBranches(nodes);
+        for (Node node : nodes) {
+            if (!this.executable[node.block().id()]) {
+                continue;
+            }
+            byte kind = this.kinds[node.id()];
+            if (!isConstant(kind) || !isFoldable(node)) {
+                continue;
+            }
+            int value = this.values[node.id()];
+            Node constant = kind == INT
+                ? ints.computeIfAbsent(value, v -> new ConstIntNode(this.graph.startBlock(), v))
+                : bools[value] != null ? bools[value] : (bools[value] = new ConstBoolNode(this.graph.startBlock(), value != 0));
+            if (node instanceof ProjNode proj
+                && proj.predecessor(ProjNode.IN) instanceof BinaryOperationNode divMod
+                && (divMod instanceof DivNode || divMod instanceof ModNode)) {
+                // the division cannot trap, so it does not need to be ordered anymore
+                for (Node user : List.copyOf(this.graph.successors(divMod))) {
+                    if (user instanceof ProjNode sideEffect
+                        && sideEffect.projectionInfo() == ProjNode.SimpleProjectionInfo.SIDE_EFFECT) {
+                        NodeSupport.replaceAllUses(sideEffect, divMod.predecessor(DivNode.SIDE_EFFECT));
+                        sideEffect.clearPredecessors();
+                    }
+                }
+            }
+            NodeSupport.replaceAllUses(node, constant);
+            node.clearPredecessors();
+            replaced++;
+        }
+        return replaced;
+    }
+
+    /// Replaces the varying result projections of the [IfNode]s with a constant condition by the branch
+    /// that is taken.
+    /// {@return the number of projections that were replaced}
+    private int selectBranches(List<Node> nodes) {
+        int replaced = 0;
+        for (Node node : nodes) {
+            if (node instanceof ProjNode proj && proj.projectionInfo() == ProjNode.SimpleProjectionInfo.RESULT
+                && proj.predecessor(ProjNode.IN) instanceof IfNode ifNode
+                && this.executable[node.block().id()] && this.kinds[node.id()] == VARYING
+                && isConstant(this.kinds[ifNode.condition().id()])) {
+                int condition = this.values[ifNode.condition().id()];
+                NodeSupport.replaceAllUses(proj, condition != 0 ? ifNode.thenBranch() : ifNode.elseBranch());
+                proj.clearPredecessors();
+                replaced++;
+            }
+        }
+        return replaced;
+    }
+
+    /// {@return whether the node can be replaced by a constant}
+    /// Divisions and conditional expressions are replaced through their result projections instead.
+    private static boolean isFoldable(Node node) {
+        return switch (node) {
+            case ConstIntNode _, ConstBoolNode _, DivNode _, ModNode _, IfNode _ -> false;
+            default -> true;
+        };
+    }
+
+    private static <T> List<T> list(List<List<T>> lists, Node block) {
+        List<T> list = lists.get(block.id());
+        if (list == null) {
+            list = new ArrayList<>();
+            lists.set(block.id(), list);
+        }
+        return list;
+    }
+}
@@ -0,0 +1,249 @@
+package edu.kit.kastel.vads.compiler.ir.optimize;
+
+import edu.kit.kastel.vads.compiler.ir.IrGraph;
+import edu.kit.kastel.vads.compiler.ir.node.AddNode;
+import edu.kit.kastel.vads.compiler.ir.node.ArithmeticShiftRightNode;
+import edu.kit.kastel.vads.compiler.ir.node.BinaryOperationNode;
+import edu.kit.kastel.vads.compiler.ir.node.BitwiseAndNode;
+import edu.kit.kastel.vads.compiler.ir.node.Block;
+import edu.kit.kastel.vads.compiler.ir.node.ConstIntNode;
+import edu.kit.kastel.vads.compiler.ir.node.DivNode;
+import edu.kit.kastel.vads.compiler.ir.node.ModNode;
+import edu.kit.kastel.vads.compiler.ir.node.MulHighNode;
+import edu.kit.kastel.vads.compiler.ir.node.MulNode;
+import edu.kit.kastel.vads.compiler.ir.node.Node;
+import edu.kit.kastel.vads.compiler.ir.node.ProjNode;
+import edu.kit.kastel.vads.compiler.ir.node.ShiftLeftNode;
+import edu.kit.kastel.vads.compiler.ir.node.ShiftRightNode;
+import edu.kit.kastel.vads.compiler.ir.node.SubNode;
+import edu.kit.kastel.vads.compiler.ir.util.NodeSupport;
+import org.jspecify.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/// Replaces multiplications, divisions and remainders by constants with cheaper operations.
+/// - A multiplication by a power of two becomes a shift, one by a power of two plus or minus one
+///   a shift and an addition or subtraction.
+/// - A division by a power of two becomes an arithmetic shift, after adding `divisor - 1` to negative dividends
+///   so the quotient is still rounded toward zero.
+/// - A division by any other constant becomes a multiplication with a magic number, of which only the upper half
+///   is used, and a shift, as described in chapter 10 of Hacker's Delight by Warren.
+/// - A remainder `x % d` becomes `x - x / d * d` with the quotient computed like above.
+///
+/// Divisions by `0` and `-1` are kept, as `idivl` traps on them for some dividends, which must still happen
+/// at run time. All other divisions cannot trap, so like in [SparseConditionalConstantPropagation]
+/// their side effect projection is replaced by the side effect they depended on.
+///
+/// The nodes this pass creates are shared per block like in [LocalValueNumbering], so e.g. `x / d` and `x % d`
+/// use the same quotient.
+public class StrengthReduction implements GraphPass {
+    private IrGraph graph;
+    private Map<Integer, Node> constants;
+    private Map<Block, LocalValueNumbering> values;
+
+    /// Reduces all multiplications, divisions and remainders by constants of the graph.
+    /// {@return the number of operations that were replaced}
+    @Override
+    public int run(IrGraph graph) {
+        this.graph = graph;
+        this.constants = new HashMap<>();
+        this.values = new HashMap<>();
+        List<Node> nodes = NodeSupport.inputsFirst(graph);
+        for (Node node : nodes) {
+            if (node instanceof ConstIntNode c && c.block() == graph.startBlock()) {
+                this.constants.putIfAbsent(c.value(), c);
+            }
+        }
+        int replaced = 0;
+        for (Node node : nodes) {
+            Node replacement = switch (node) {
+                case MulNode mul -> reduceMul(mul);
+                case DivNode div -> reduceDivMod(div, true);
+                case ModNode mod -> reduceDivMod(mod, false);
+                default -> null;
+            };
+            if (replacement != null) {
+                NodeSupport.replaceAllUses(node, replacement);
+                node.clearPredecessors();
+                replaced++;
+            }
+        }
+        return replaced;
+    }
+
+    private @Nullable Node reduceMul(MulNode mul) {
+        Node left = mul.predecessor(BinaryOperationNode.LEFT);
+        Node right = mul.predecessor(BinaryOperationNode.RIGHT);
+        if (right instanceof ConstIntNode c) {
+            return multiply(mul.block(), left, c.value());
+        }
+        if (left instanceof ConstIntNode c) {
+            return multiply(mul.block(), right, c.value());
+        }
+        return null;
+    }
+
+    /// {@return a node computing `x * factor`, or `null` if an `imull` is the cheapest way to do so}
+    private @Nullable Node multiply(Block block, Node x, int factor) {
+        if (factor == 0) {
+            return constant(0);
+        }
+        if (factor == 1) {
+            return x;
+        }
+        if (factor == -1) {
+            return value(new SubNode(block, constant(0), x));
+        }
+        if (isPowerOfTwo(factor)) {
+            return shiftLeft(block, x, factor);
+        }
+        if (isPowerOfTwo(factor - 1)) {
+            return value(new AddNode(block, shiftLeft(block, x, factor - 1), x));
+        }
+        if (isPowerOfTwo(factor + 1)) {
+            return value(new SubNode(block, shiftLeft(block, x, factor + 1), x));
+        }
+        return null;
+    }
+
+    /// Replaces the result projection of the division or remainder by the reduced computation.
+    /// {@return the node the division itself is replaced with, or `null` if it is kept}
+    private @Nullable Node reduceDivMod(BinaryOperationNode node, boolean isDiv) {
+        if (!(node.predecessor(BinaryOperationNode.RIGHT) instanceof ConstIntNode c)
+            || c.value() == 0 || c.value() == -1) {
+            return null;
+        }
+        Block block = node.block();
+        Node x = node.predecessor(BinaryOperationNode.LEFT);
+        int divisor = c.value();
+        Node value = isDiv ? divide(block, x, divisor) : remainder(block, x, divisor);
+        Node sideEffect = node.predecessor(DivNode.SIDE_EFFECT);
+        for (Node user : List.copyOf(this.graph.successors(node))) {
+            if (user instanceof ProjNode proj) {
+                boolean isResult = proj.projectionInfo() == ProjNode.SimpleProjectionInfo.RESULT;
+                NodeSupport.replaceAllUses(proj, isResult ? value : sideEffect);
+                proj.clearPredecessors();
+            }
+        }
+        return value;
+    }
+
+    /// {@return a node computing `x / divisor` rounded toward zero, for a divisor other than `0` and `-1`}
+    private Node divide(Block block, Node x, int divisor) {
+        if (divisor == 1) {
+            return x;
+        }
+        int magnitude = Math.abs(divisor);
+        if (isPowerOfTwo(magnitude) || divisor == Integer.MIN_VALUE) {
+            Node quotient = value(new ArithmeticShiftRightNode(block, roundTowardZero(block, x, divisor),
+                constant(Integer.numberOfTrailingZeros(divisor))));
+            return divisor < 0 ? value(new SubNode(block, constant(0), quotient)) : quotient;
+        }
+        Magic magic = Magic.of(divisor);
+        Node quotient = value(new MulHighNode(block, x, constant(magic.multiplier())));
+        if (divisor > 0 && magic.multiplier() < 0) {
+            quotient = value(new AddNode(block, quotient, x));
+        } else if (divisor < 0 && magic.multiplier() > 0) {
+            quotient = value(new SubNode(block, quotient, x));
+        }
+        if (magic.shift() > 0) {
+            quotient = value(new ArithmeticShiftRightNode(block, quotient, constant(magic.shift())));
+        }
+        // the quotient is one too small for negative dividends, add its sign bit
+        return value(new AddNode(block, quotient, value(new ShiftRightNode(block, quotient, constant(31)))));
+    }
+
+    /// {@return a node computing `x % divisor` with the sign of `x`, for a divisor other than `0` and `-1`}
+    private Node remainder(Block block, Node x, int divisor) {
+        if (divisor == 1) {
+            return constant(0);
+        }
+        if (isPowerOfTwo(Math.abs(divisor)) || divisor == Integer.MIN_VALUE) {
+            // the sign of the divisor does not matter, clear the low bits of the rounded dividend
+            int mask = -Math.abs(divisor);
+            Node rounded = roundTowardZero(block, x, divisor);
+            return value(new SubNode(block, x, value(new BitwiseAndNode(block, rounded, constant(mask)))));
+        }
+        Node quotient = divide(block, x, divisor);
+        Node product = multiply(block, quotient, divisor);
+        if (product == null) {
+            product = value(new MulNode(block, quotient, constant(divisor)));
+        }
+        return value(new SubNode(block, x, product));
+    }
+
+    /// {@return `x` plus `|divisor| - 1` if `x` is negative, for a divisor that is a power of two in magnitude}
+    /// Shifting the result right rounds toward zero instead of down then.
+    private Node roundTowardZero(Block block, Node x, int divisor) {
+        int shift = Integer.numberOfTrailingZeros(divisor);
+        // all ones if x is negative, shifted down to the low bits
+        Node sign = shift == 1 ? x : value(new ArithmeticShiftRightNode(block, x, constant(31)));
+        Node bias = value(new ShiftRightNode(block, sign, constant(32 - shift)));
+        return value(new AddNode(block, x, bias));
+    }
+
+    private Node shiftLeft(Block block, Node x, int powerOfTwo) {
+        return value(new ShiftLeftNode(block, x, constant(Integer.numberOfTrailingZeros(powerOfTwo))));
+    }
+
+    /// {@return the new node, or an equal one this pass already created in the same block}
+    private Node value(Node node) {
+        Node known = this.values.computeIfAbsent(node.block(), _ -> new LocalValueNumbering()).transform(node);
+        if (known != node) {
+            // drop the duplicate, so it does not stay a user of its inputs
+            node.clearPredecessors();
+        }
+        return known;
+    }
+
+    private Node constant(int value) {
+        return this.constants.computeIfAbsent(value, v -> new ConstIntNode(this.graph.startBlock(), v));
+    }
+
+    private static boolean isPowerOfTwo(int value) {
+        return value > 0 && (value & (value - 1)) == 0;
+    }
+
+    /// The multiplier and shift that replace a division by a constant,
+    /// such that `x / d` is the upper half of `x * multiplier`, shifted right by `shift`, and corrected
+    /// for negative quotients.
+    private record Magic(int multiplier, int shift) {
+        private static final long TWO_31 = 1L << 31;
+        private static final long MASK = 0xFFFF_FFFFL;
+
+        /// {@return the magic numbers for the divisor, which must not be `-1`, `0`, `1` or `Integer.MIN_VALUE`}
+        /// This is the algorithm `magic` of Hacker's Delight, with longs standing in for unsigned ints.
+        static Magic of(int divisor) {
+            long ad = Math.abs((long) divisor);
+            long t = TWO_31 + (divisor >>> 31);
+            // the largest value of the dividend that is one less than a multiple of the divisor
+            long anc = t - 1 - t % ad;
+            int p = 31;
+            long q1 = TWO_31 / anc;
+            long r1 = TWO_31 - q1 * anc;
+            long q2 = TWO_31 / ad;
+            long r2 = TWO_31 - q2 * ad;
+            long delta;
+            do {
+                p++;
+                q1 = (2 * q1) & MASK;
+                r1 = (2 * r1) & MASK;
+                if (r1 >= anc) {
+                    q1++;
+                    r1 -= anc;
+                }
+                q2 = (2 * q2) & MASK;
+                r2 = (2 * r2) & MASK;
+                if (r2 >= ad) {
+                    q2++;
+                    r2 -= ad;
+                }
+                delta = ad - r2;
+            } while (q1 < delta || (q1 == delta && r1 == 0));
+            int multiplier = (int) (q2 + 1);
+            return new Magic(divisor < 0 ? -multiplier : multiplier, p - 32);
+        }
+    }
+}
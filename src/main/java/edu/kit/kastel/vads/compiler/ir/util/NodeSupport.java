@@ -1,8 +1,14 @@
 package edu.kit.kastel.vads.compiler.ir.util;
 
+import edu.kit.kastel.vads.compiler.ir.IrGraph;
+import edu.kit.kastel.vads.compiler.ir.node.Block;
 import edu.kit.kastel.vads.compiler.ir.node.Node;
 import edu.kit.kastel.vads.compiler.ir.node.ProjNode;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 public final class NodeSupport {
     private NodeSupport() {
 
@@ -15,4 +21,61 @@ public final class NodeSupport {
         }
         return pred;
     }
+
+    /// Makes all nodes using `node` use `replacement` instead.
+    /// {@return the nodes that used `node`, once for each use}
+    public static List<Node> replaceAllUses(Node node, Node replacement) {
+        // copy, the uses of node change while they are rerouted
+        List<Node> users = List.copyOf(node.graph().successors(node));
+        for (Node user : users) {
+            for (int i = 0; i < user.predecessorCount(); i++) {
+                if (user.predecessor(i) == node) {
+                    user.setPredecessor(i, replacement);
+                }
+            }
+        }
+        return users;
+    }
+
+    /// {@return all nodes reachable from the end block over inputs and blocks, each node after its inputs}
+    /// Inputs closing a cycle, which always runs through a [edu.kit.kastel.vads.compiler.ir.node.Phi],
+    /// are the only ones that can come after their user.
+    /// The walk uses an explicit stack, so it works on arbitrarily deep graphs.
+    public static List<Node> inputsFirst(IrGraph graph) {
+        List<Node> order = new ArrayList<>();
+        // per node id: 0 if not seen yet, 1 while its inputs are walked, 2 when done
+        byte[] state = new byte[graph.nodeCount()];
+        // per node id: the next input to walk, where -1 stands for the block of the node
+        int[] next = new int[graph.nodeCount()];
+        Node[] stack = new Node[16];
+        int size = 0;
+        stack[size++] = graph.endBlock();
+        state[graph.endBlock().id()] = 1;
+        next[graph.endBlock().id()] = 0;
+        while (size > 0) {
+            Node node = stack[size - 1];
+            int index = next[node.id()]++;
+            Node input;
+            if (index == -1) {
+                input = node.block();
+            } else if (index < node.predecessorCount()) {
+                input = node.predecessor(index);
+            } else {
+                state[node.id()] = 2;
+                order.add(node);
+                size--;
+                continue;
+            }
+            if (state[input.id()] != 0) {
+                continue;
+            }
+            state[input.id()] = 1;
+            next[input.id()] = input instanceof Block ? 0 : -1;
+            if (size == stack.length) {
+                stack = Arrays.copyOf(stack, size * 2);
+            }
+            stack[size++] = input;
+        }
+        return order;
+    }
 }
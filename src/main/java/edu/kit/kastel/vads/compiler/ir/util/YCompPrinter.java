@@ -135,7 +135,7 @@ public class YCompPrinter {
     }
 
     private String formatInputEdges(Node node) {
-        var edges = IntStream.range(0, node.predecessors().size())
+        var edges = IntStream.range(0, node.predecessorCount())
             .mapToObj(
                 idx -> new Edge(
                     node.predecessor(idx), node, idx, edgeColor(node.predecessor(idx), node)
@@ -2,9 +2,22 @@ package edu.kit.kastel.vads.compiler.lexer;
 
 import edu.kit.kastel.vads.compiler.Span;
 
-public record Identifier(String value, Span span) implements Token {
+import java.lang.foreign.MemorySegment;
+
+/// The text of the token is only decoded from the source when [#value()] is called.
+public record Identifier(MemorySegment source, long offset, int length, Span span) implements Token {
+
+    public String value() {
+        return Lexer.text(source(), offset(), length());
+    }
+
     @Override
     public String asString() {
         return value();
     }
+
+    @Override
+    public String toString() {
+        return "Identifier[value=" + value() + ", span=" + span() + "]";
+    }
 }
@@ -1,5 +1,11 @@
 package edu.kit.kastel.vads.compiler.lexer;
 
+import org.jspecify.annotations.Nullable;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.charset.StandardCharsets;
+
 public enum KeywordType {
   STRUCT("struct"),
   IF("if"),
@@ -24,10 +30,46 @@ public enum KeywordType {
   STRING("string"),
   ;
 
+  // perfect hash over the first and last character and the length of the keywords,
+  // the constants were chosen such that no two keywords collide
+  private static final int TABLE_SIZE = 64;
+  private static final @Nullable KeywordType[] TABLE = new KeywordType[TABLE_SIZE];
+
+  static {
+    for (KeywordType value : values()) {
+      int hash = hash(value.bytes, 0, (int) value.bytes.byteSize());
+      if (TABLE[hash] != null) {
+        throw new AssertionError(value + " collides with " + TABLE[hash]);
+      }
+      TABLE[hash] = value;
+    }
+  }
+
   private final String keyword;
+  private final MemorySegment bytes;
 
   KeywordType(String keyword) {
     this.keyword = keyword;
+    this.bytes = MemorySegment.ofArray(keyword.getBytes(StandardCharsets.US_ASCII));
+  }
+
+  /// {@return the keyword spelled by the given bytes, or `null` if they are not a keyword}
+  /// @param source the source to look at, the range must be in bounds and non-empty
+  public static @Nullable KeywordType lookup(MemorySegment source, long offset, int length) {
+    KeywordType candidate = TABLE[hash(source, offset, length)];
+    if (candidate == null || candidate.bytes.byteSize() != length) {
+      return null;
+    }
+    if (MemorySegment.mismatch(source, offset, offset + length, candidate.bytes, 0, length) != -1) {
+      return null;
+    }
+    return candidate;
+  }
+
+  private static int hash(MemorySegment source, long offset, int length) {
+    int first = source.get(ValueLayout.JAVA_BYTE, offset);
+    int last = source.get(ValueLayout.JAVA_BYTE, offset + length - 1);
+    return (3 * first + 8 * last + length) & (TABLE_SIZE - 1);
   }
 
   public String keyword() {
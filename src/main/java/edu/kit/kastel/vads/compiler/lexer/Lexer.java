@@ -1,36 +1,123 @@
 package edu.kit.kastel.vads.compiler.lexer;
 
-import edu.kit.kastel.vads.compiler.Position;
+import edu.kit.kastel.vads.compiler.Bytes;
+import edu.kit.kastel.vads.compiler.LineIndex;
 import edu.kit.kastel.vads.compiler.Span;
 import edu.kit.kastel.vads.compiler.lexer.Operator.OperatorType;
 import edu.kit.kastel.vads.compiler.lexer.Separator.SeparatorType;
-import org.jspecify.annotations.Nullable;
-
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.Optional;
 
+/// Splits the source into [Token]s.
+///
+/// The lexer works on the raw bytes of the source, which is expected to be ASCII.
+/// Tokens can either be read one by one as objects, or all at once into a [TokenBuffer].
+/// [Identifier]s and [NumberLiteral]s only point into the source,
+/// their text is decoded when it is requested.
 public class Lexer {
-    private final String source;
-    private int pos;
-    private int lineStart;
-    private int line;
+    private final MemorySegment source;
+    private final long length;
+    private long pos;
+    private final LineIndex lines;
+
+    // position of the token read last
+    private long tokenStart;
+    private int tokenLength;
 
-    private Lexer(String source) {
+    private Lexer(MemorySegment source) {
         this.source = source;
+        this.length = source.byteSize();
+        this.lines = LineIndex.of(source);
     }
 
     public static Lexer forString(String source) {
-        return new Lexer(source);
+        return new Lexer(MemorySegment.ofArray(source.getBytes(StandardCharsets.UTF_8)));
     }
 
-    public Optional<Token> nextToken() {
-        ErrorToken error = skipWhitespace();
-        if (error != null) {
-            return Optional.of(error);
+    /// Maps the given file into memory instead of reading it.
+    /// The tokens read from the source of the returned lexer must not be used after the arena is closed.
+    public static Lexer forFile(Path path, Arena arena) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new Lexer(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), arena));
         }
-        if (this.pos >= this.source.length()) {
+    }
+
+    static String text(MemorySegment source, long offset, int length) {
+        byte[] bytes = new byte[length];
+        MemorySegment.copy(source, ValueLayout.JAVA_BYTE, offset, bytes, 0, length);
+        return new String(bytes, StandardCharsets.US_ASCII);
+    }
+
+    public MemorySegment source() {
+        return this.source;
+    }
+
+    /// {@return the byte offset of the token read last by [#scan()]}
+    public long tokenStart() {
+        return this.tokenStart;
+    }
+
+    public int tokenLength() {
+        return this.tokenLength;
+    }
+
+    /// {@return the text of the given range of the source}
+    public String text(long start, int length) {
+        return text(this.source, start, length);
+    }
+
+    public LineIndex lines() {
+        return this.lines;
+    }
+
+    /// {@return the span of the given range of the source}
+    public Span span(long start, int length) {
+        return new Span.OffsetSpan(this.lines, (int) start, (int) start + length);
+    }
+
+    /// {@return a token of the given kind and range of the source as an object}
+    public Token token(int kind, long start, int length, Span span) {
+        return TokenBuffer.token(kind, this.source, start, length, span);
+    }
+
+    public Optional<Token> nextToken() {
+        int kind = scan();
+        if (kind == TokenKind.END) {
             return Optional.empty();
         }
-        Token t = switch (peek()) {
+        Span span = span(this.tokenStart, this.tokenLength);
+        return Optional.of(TokenBuffer.token(kind, this.source, this.tokenStart, this.tokenLength, span));
+    }
+
+    /// Reads all remaining tokens into a [TokenBuffer] without creating an object per token.
+    public TokenBuffer tokenize() {
+        // most tokens are separated by a single space, so this is usually enough
+        TokenBuffer buffer = new TokenBuffer(this.source, this.lines, (int) (this.length / 4));
+        int kind;
+        while ((kind = scan()) != TokenKind.END) {
+            buffer.add(kind, (int) this.tokenStart, this.tokenLength);
+        }
+        return buffer;
+    }
+
+    /// Reads the next token without creating an object for it.
+    /// Its position can be queried until the next call.
+    /// {@return the [TokenKind] of the token, or [TokenKind#END] if there are no more tokens}
+    public int scan() {
+        if (skipWhitespace()) {
+            return TokenKind.ERROR;
+        }
+        if (this.pos >= this.length) {
+            return TokenKind.END;
+        }
+        return switch (peek()) {
             case '(' -> separator(SeparatorType.PAREN_OPEN);
             case ')' -> separator(SeparatorType.PAREN_CLOSE);
             case '{' -> separator(SeparatorType.BRACE_OPEN);
@@ -38,45 +125,45 @@ public class Lexer {
             case ';' -> separator(SeparatorType.SEMICOLON);
 
             case '=' -> {
-                if (hasMore(1) && peek(1) == '=') yield new Operator(OperatorType.COMPARE_EQUAL, buildSpan(2));
-                yield new Operator(OperatorType.ASSIGN, buildSpan(1));
+                if (hasMore(1) && peek(1) == '=') yield operator(OperatorType.COMPARE_EQUAL, 2);
+                yield operator(OperatorType.ASSIGN, 1);
             }
             case '!' -> {
-                if (hasMore(1) && peek(1) == '=') yield new Operator(OperatorType.COMPARE_NOT_EQUAL, buildSpan(2));
-                yield new Operator(OperatorType.NOT, buildSpan(1));
+                if (hasMore(1) && peek(1) == '=') yield operator(OperatorType.COMPARE_NOT_EQUAL, 2);
+                yield operator(OperatorType.NOT, 1);
             }
             case '<' -> {
-                if (hasMore(1) && peek(1) == '=') yield new Operator(OperatorType.COMPARE_LESS_EQUAL, buildSpan(2));
+                if (hasMore(1) && peek(1) == '=') yield operator(OperatorType.COMPARE_LESS_EQUAL, 2);
                 if (hasMore(1) && peek(1) == '<') {
-                    if (hasMore(2) && peek(2) == '=') yield new Operator(OperatorType.ASSIGN_SHIFT_LEFT, buildSpan(3));
-                    yield new Operator(OperatorType.SHIFT_LEFT, buildSpan(2));
+                    if (hasMore(2) && peek(2) == '=') yield operator(OperatorType.ASSIGN_SHIFT_LEFT, 3);
+                    yield operator(OperatorType.SHIFT_LEFT, 2);
                 }
-                yield new Operator(OperatorType.COMPARE_LESS, buildSpan(1));
+                yield operator(OperatorType.COMPARE_LESS, 1);
             }
             case '>' -> {
-                if (hasMore(1) && peek(1) == '=') yield new Operator(OperatorType.COMPARE_GREATER_EQUAL, buildSpan(2));
+                if (hasMore(1) && peek(1) == '=') yield operator(OperatorType.COMPARE_GREATER_EQUAL, 2);
                 if (hasMore(1) && peek(1) == '>') {
-                    if (hasMore(2) && peek(2) == '=') yield new Operator(OperatorType.ASSIGN_SHIFT_RIGHT, buildSpan(3));
-                    yield new Operator(OperatorType.SHIFT_RIGHT, buildSpan(2));
+                    if (hasMore(2) && peek(2) == '=') yield operator(OperatorType.ASSIGN_SHIFT_RIGHT, 3);
+                    yield operator(OperatorType.SHIFT_RIGHT, 2);
                 }
-                yield new Operator(OperatorType.COMPARE_GREATER, buildSpan(1));
+                yield operator(OperatorType.COMPARE_GREATER, 1);
             }
             case '&' -> {
-                if (hasMore(1) && peek(1) == '&') yield new Operator(OperatorType.AND, buildSpan(2));
-                if (hasMore(1) && peek(1) == '=') yield new Operator(OperatorType.ASSIGN_BITWISE_AND, buildSpan(2));
-                yield new Operator(OperatorType.BITWISE_AND, buildSpan(1));
+                if (hasMore(1) && peek(1) == '&') yield operator(OperatorType.AND, 2);
+                if (hasMore(1) && peek(1) == '=') yield operator(OperatorType.ASSIGN_BITWISE_AND, 2);
+                yield operator(OperatorType.BITWISE_AND, 1);
             }
             case '|' -> {
-                if (hasMore(1) && peek(1) == '|') yield new Operator(OperatorType.OR, buildSpan(2));
-                if (hasMore(1) && peek(1) == '=') yield new Operator(OperatorType.ASSIGN_BITWISE_OR, buildSpan(2));
-                yield new Operator(OperatorType.BITWISE_OR, buildSpan(1));
+                if (hasMore(1) && peek(1) == '|') yield operator(OperatorType.OR, 2);
+                if (hasMore(1) && peek(1) == '=') yield operator(OperatorType.ASSIGN_BITWISE_OR, 2);
+                yield operator(OperatorType.BITWISE_OR, 1);
             }
             case '^' -> {
-                if (hasMore(1) && peek(1) == '=') yield new Operator(OperatorType.ASSIGN_BITWISE_XOR, buildSpan(2));
-                yield new Operator(OperatorType.BITWISE_XOR, buildSpan(1));
+                if (hasMore(1) && peek(1) == '=') yield operator(OperatorType.ASSIGN_BITWISE_XOR, 2);
+                yield operator(OperatorType.BITWISE_XOR, 1);
             }
-            case '?' -> new Operator(OperatorType.QUESTION, buildSpan(1));
-            case ':' -> new Operator(OperatorType.COLON, buildSpan(1));
+            case '?' -> operator(OperatorType.QUESTION, 1);
+            case ':' -> operator(OperatorType.COLON, 1);
 
             case '-' -> singleOrAssign(OperatorType.MINUS, OperatorType.ASSIGN_MINUS);
             case '+' -> singleOrAssign(OperatorType.PLUS, OperatorType.ASSIGN_PLUS);
@@ -91,28 +178,36 @@ public class Lexer {
                     }
                     yield lexIdentifierOrKeyword();
                 }
-                yield new ErrorToken(String.valueOf(peek()), buildSpan(1));
+                yield advance(TokenKind.ERROR, 1);
             }
         };
-
-        return Optional.of(t);
     }
 
-    private @Nullable ErrorToken skipWhitespace() {
+    /// {@return whether an unterminated comment was found, it is read as an error token}
+    private boolean skipWhitespace() {
         enum CommentType {
             SINGLE_LINE,
             MULTI_LINE
         }
         CommentType currentCommentType = null;
         int multiLineCommentDepth = 0;
-        int commentStart = -1;
+        long commentStart = -1;
         while (hasMore(0)) {
+            // jump over everything that cannot change the state, the switch below handles the rest
+            if (currentCommentType == null) {
+                this.pos = skipBlanks(this.pos);
+            } else if (currentCommentType == CommentType.SINGLE_LINE) {
+                this.pos = Bytes.find(this.source, this.pos, '\n', '\r');
+            } else {
+                this.pos = Bytes.find(this.source, this.pos, '*', '/');
+            }
+            if (!hasMore(0)) {
+                break;
+            }
             switch (peek()) {
                 case ' ', '\t' -> this.pos++;
                 case '\n', '\r' -> {
                     this.pos++;
-                    this.lineStart = this.pos;
-                    this.line++;
                     if (currentCommentType == CommentType.SINGLE_LINE) {
                         currentCommentType = null;
                     }
@@ -132,7 +227,7 @@ public class Lexer {
                             this.pos++;
                             continue;
                         } else {
-                            return null;
+                            return false;
                         }
                         commentStart = this.pos;
                         this.pos += 2;
@@ -143,7 +238,7 @@ public class Lexer {
                         this.pos++;
                         continue;
                     }
-                    return null;
+                    return false;
                 }
                 default -> {
                     if (currentCommentType == CommentType.MULTI_LINE) {
@@ -159,36 +254,62 @@ public class Lexer {
                         this.pos++;
                         continue;
                     }
-                    return null;
+                    return false;
                 }
             }
         }
         if (!hasMore(0) && currentCommentType == CommentType.MULTI_LINE) {
-            return new ErrorToken(this.source.substring(commentStart), buildSpan(0));
+            // the error token covers the whole comment
+            this.tokenStart = commentStart;
+            this.tokenLength = (int) (this.length - commentStart);
+            return true;
+        }
+        return false;
+    }
+
+    /// {@return the offset of the first byte at or after `from` that is no space, tab or line break}
+    private long skipBlanks(long from) {
+        long i = from;
+        while (i + Long.BYTES <= this.length) {
+            long word = this.source.get(Bytes.WORD, i);
+            long others = Bytes.not(Bytes.equal(word, ' ') | Bytes.equal(word, '\t')
+                | Bytes.equal(word, '\n') | Bytes.equal(word, '\r'));
+            if (others != 0) {
+                return i + Bytes.firstByte(others);
+            }
+            i += Long.BYTES;
         }
-        return null;
+        while (i < this.length) {
+            byte b = this.source.get(ValueLayout.JAVA_BYTE, i);
+            if (b != ' ' && b != '\t' && b != '\n' && b != '\r') {
+                return i;
+            }
+            i++;
+        }
+        return i;
     }
 
-    private Separator separator(SeparatorType parenOpen) {
-        return new Separator(parenOpen, buildSpan(1));
+    private int separator(SeparatorType type) {
+        return advance(TokenKind.separator(type), 1);
     }
 
-    private Token lexIdentifierOrKeyword() {
+    private int operator(OperatorType type, int length) {
+        return advance(TokenKind.operator(type), length);
+    }
+
+    private int lexIdentifierOrKeyword() {
         int off = 1;
         while (hasMore(off) && isIdentifierChar(peek(off))) {
             off++;
         }
-        String id = this.source.substring(this.pos, this.pos + off);
-        // This is a naive solution. Using a better data structure (hashmap, trie) likely performs better.
-        for (KeywordType value : KeywordType.values()) {
-            if (value.keyword().equals(id)) {
-                return new Keyword(value, buildSpan(off));
-            }
+        KeywordType keyword = KeywordType.lookup(this.source, this.pos, off);
+        if (keyword != null) {
+            return advance(TokenKind.keyword(keyword), off);
         }
-        return new Identifier(id, buildSpan(off));
+        return advance(TokenKind.IDENTIFIER, off);
     }
 
-    private Token lexNumber() {
+    private int lexNumber() {
         if (isHexPrefix()) {
             int off = 2;
             while (hasMore(off) && isHex(peek(off))) {
@@ -196,9 +317,9 @@ public class Lexer {
             }
             if (off == 2) {
                 // 0x without any further hex digits
-                return new ErrorToken(this.source.substring(this.pos, this.pos + off), buildSpan(2));
+                return advance(TokenKind.ERROR, off);
             }
-            return new NumberLiteral(this.source.substring(this.pos, this.pos + off), 16, buildSpan(off));
+            return advance(TokenKind.HEX_LITERAL, off);
         }
         int off = 1;
         while (hasMore(off) && isNumeric(peek(off))) {
@@ -206,9 +327,9 @@ public class Lexer {
         }
         if (peek() == '0' && off > 1) {
             // leading zero is not allowed
-            return new ErrorToken(this.source.substring(this.pos, this.pos + off), buildSpan(off));
+            return advance(TokenKind.ERROR, off);
         }
-        return new NumberLiteral(this.source.substring(this.pos, this.pos + off), 10, buildSpan(off));
+        return advance(TokenKind.DECIMAL_LITERAL, off);
     }
 
     private boolean isHexPrefix() {
@@ -230,31 +351,30 @@ public class Lexer {
         return isNumeric(c) || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
     }
 
-    private Token singleOrAssign(OperatorType single, OperatorType assign) {
+    private int singleOrAssign(OperatorType single, OperatorType assign) {
         if (hasMore(1) && peek(1) == '=') {
-            return new Operator(assign, buildSpan(2));
+            return operator(assign, 2);
         }
-        return new Operator(single, buildSpan(1));
+        return operator(single, 1);
     }
 
-    private Span buildSpan(int proceed) {
-        int start = this.pos;
+    private int advance(int kind, int proceed) {
+        this.tokenStart = this.pos;
+        this.tokenLength = proceed;
         this.pos += proceed;
-        Position.SimplePosition s = new Position.SimplePosition(this.line, start - this.lineStart);
-        Position.SimplePosition e = new Position.SimplePosition(this.line, start - this.lineStart + proceed);
-        return new Span.SimpleSpan(s, e);
+        return kind;
     }
 
     private char peek() {
-        return this.source.charAt(this.pos);
+        return peek(0);
     }
 
     private boolean hasMore(int offset) {
-        return this.pos + offset < this.source.length();
+        return this.pos + offset < this.length;
     }
 
     private char peek(int offset) {
-        return this.source.charAt(this.pos + offset);
+        return (char) (this.source.get(ValueLayout.JAVA_BYTE, this.pos + offset) & 0xFF);
     }
 
 }
@@ -2,9 +2,22 @@ package edu.kit.kastel.vads.compiler.lexer;
 
 import edu.kit.kastel.vads.compiler.Span;
 
-public record NumberLiteral(String value, int base, Span span) implements Token {
+import java.lang.foreign.MemorySegment;
+
+/// The text of the token is only decoded from the source when [#value()] is called.
+public record NumberLiteral(MemorySegment source, long offset, int length, int base, Span span) implements Token {
+
+    public String value() {
+        return Lexer.text(source(), offset(), length());
+    }
+
     @Override
     public String asString() {
         return value();
     }
+
+    @Override
+    public String toString() {
+        return "NumberLiteral[value=" + value() + ", base=" + base() + ", span=" + span() + "]";
+    }
 }
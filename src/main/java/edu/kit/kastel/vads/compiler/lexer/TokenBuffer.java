@@ -0,0 +1,105 @@
+package edu.kit.kastel.vads.compiler.lexer;
+
+import edu.kit.kastel.vads.compiler.LineIndex;
+import edu.kit.kastel.vads.compiler.Span;
+
+import java.lang.foreign.MemorySegment;
+import java.util.Arrays;
+import java.util.Objects;
+
+/// Stores all tokens of a source in parallel arrays instead of one object per token.
+/// Lines and columns are looked up in the [LineIndex] of the source.
+/// A token is referred to by its index, its kind is encoded by [TokenKind].
+///
+/// [Span]s, texts and [Token] objects are only created when they are requested.
+public final class TokenBuffer {
+    private final MemorySegment source;
+    private final LineIndex lineIndex;
+    private int[] kinds;
+    private int[] starts;
+    private int[] lengths;
+    private int size;
+
+    TokenBuffer(MemorySegment source, LineIndex lineIndex, int capacity) {
+        this.source = source;
+        this.lineIndex = lineIndex;
+        this.kinds = new int[capacity];
+        this.starts = new int[capacity];
+        this.lengths = new int[capacity];
+    }
+
+    void add(int kind, int start, int length) {
+        if (this.size == this.kinds.length) {
+            int capacity = Math.max(16, this.size * 2);
+            this.kinds = Arrays.copyOf(this.kinds, capacity);
+            this.starts = Arrays.copyOf(this.starts, capacity);
+            this.lengths = Arrays.copyOf(this.lengths, capacity);
+        }
+        this.kinds[this.size] = kind;
+        this.starts[this.size] = start;
+        this.lengths[this.size] = length;
+        this.size++;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public int kind(int index) {
+        Objects.checkIndex(index, this.size);
+        return this.kinds[index];
+    }
+
+    /// {@return the byte offset of the token in the source}
+    public int start(int index) {
+        Objects.checkIndex(index, this.size);
+        return this.starts[index];
+    }
+
+    public int length(int index) {
+        Objects.checkIndex(index, this.size);
+        return this.lengths[index];
+    }
+
+    public int line(int index) {
+        return this.lineIndex.line(start(index));
+    }
+
+    public int column(int index) {
+        return this.lineIndex.column(start(index));
+    }
+
+    public String text(int index) {
+        return Lexer.text(this.source, start(index), length(index));
+    }
+
+    public Span span(int index) {
+        int start = start(index);
+        return new Span.OffsetSpan(this.lineIndex, start, start + length(index));
+    }
+
+    /// {@return the token at the given index as an object, e.g. for error messages}
+    public Token token(int index) {
+        return token(kind(index), this.source, start(index), length(index), span(index));
+    }
+
+    static Token token(int kind, MemorySegment source, long start, int length, Span span) {
+        return switch (kind) {
+            case TokenKind.IDENTIFIER -> new Identifier(source, start, length, span);
+            case TokenKind.DECIMAL_LITERAL -> new NumberLiteral(source, start, length, 10, span);
+            case TokenKind.HEX_LITERAL -> new NumberLiteral(source, start, length, 16, span);
+            case TokenKind.ERROR -> new ErrorToken(Lexer.text(source, start, length), span);
+            default -> {
+                KeywordType keyword = TokenKind.keywordType(kind);
+                if (keyword != null) {
+                    yield new Keyword(keyword, span);
+                }
+                Operator.OperatorType operator = TokenKind.operatorType(kind);
+                if (operator != null) {
+                    yield new Operator(operator, span);
+                }
+                yield new Separator(Objects.requireNonNull(TokenKind.separatorType(kind)), span);
+            }
+        };
+    }
+}
@@ -0,0 +1,61 @@
+package edu.kit.kastel.vads.compiler.lexer;
+
+import edu.kit.kastel.vads.compiler.lexer.Operator.OperatorType;
+import edu.kit.kastel.vads.compiler.lexer.Separator.SeparatorType;
+import org.jspecify.annotations.Nullable;
+
+/// Encodes the kind of a [Token] as an `int`, so tokens can be stored in a [TokenBuffer].
+/// Keywords, operators and separators get one kind per type.
+public final class TokenKind {
+    /// Returned by [Lexer#scan()] when the end of the source is reached.
+    public static final int END = -1;
+    public static final int IDENTIFIER = 0;
+    public static final int DECIMAL_LITERAL = 1;
+    public static final int HEX_LITERAL = 2;
+    public static final int ERROR = 3;
+
+    private static final int KEYWORD = 1 << 5;
+    private static final int OPERATOR = 1 << 6;
+    private static final int SEPARATOR = 1 << 7;
+
+    private static final KeywordType[] KEYWORDS = KeywordType.values();
+    private static final OperatorType[] OPERATORS = OperatorType.values();
+    private static final SeparatorType[] SEPARATORS = SeparatorType.values();
+
+    static {
+        assert KEYWORDS.length <= OPERATOR - KEYWORD;
+        assert OPERATORS.length <= SEPARATOR - OPERATOR;
+    }
+
+    private TokenKind() {
+
+    }
+
+    public static int keyword(KeywordType type) {
+        return KEYWORD + type.ordinal();
+    }
+
+    public static int operator(OperatorType type) {
+        return OPERATOR + type.ordinal();
+    }
+
+    public static int separator(SeparatorType type) {
+        return SEPARATOR + type.ordinal();
+    }
+
+    public static @Nullable KeywordType keywordType(int kind) {
+        return KEYWORD <= kind && kind < KEYWORD + KEYWORDS.length ? KEYWORDS[kind - KEYWORD] : null;
+    }
+
+    public static @Nullable OperatorType operatorType(int kind) {
+        return OPERATOR <= kind && kind < OPERATOR + OPERATORS.length ? OPERATORS[kind - OPERATOR] : null;
+    }
+
+    public static @Nullable SeparatorType separatorType(int kind) {
+        return SEPARATOR <= kind && kind < SEPARATOR + SEPARATORS.length ? SEPARATORS[kind - SEPARATOR] : null;
+    }
+
+    public static boolean isNumberLiteral(int kind) {
+        return kind == DECIMAL_LITERAL || kind == HEX_LITERAL;
+    }
+}
@@ -1,17 +1,12 @@
 package edu.kit.kastel.vads.compiler.parser;
 
-import edu.kit.kastel.vads.compiler.lexer.Identifier;
-import edu.kit.kastel.vads.compiler.lexer.Keyword;
 import edu.kit.kastel.vads.compiler.lexer.KeywordType;
-import edu.kit.kastel.vads.compiler.lexer.NumberLiteral;
 import edu.kit.kastel.vads.compiler.lexer.Operator;
 import edu.kit.kastel.vads.compiler.lexer.Operator.OperatorType;
-import edu.kit.kastel.vads.compiler.lexer.Separator;
 import edu.kit.kastel.vads.compiler.lexer.Separator.SeparatorType;
 import edu.kit.kastel.vads.compiler.Span;
-import edu.kit.kastel.vads.compiler.lexer.Token;
+import edu.kit.kastel.vads.compiler.lexer.TokenKind;
 import edu.kit.kastel.vads.compiler.parser.ast.*;
-import edu.kit.kastel.vads.compiler.parser.symbol.Name;
 import edu.kit.kastel.vads.compiler.parser.type.BasicType;
 import edu.kit.kastel.vads.compiler.semantic.SemanticException;
 
@@ -26,13 +21,14 @@ public class Parser {
     private final Stack<Scope> currentBlock = new Stack();
     private final Stack<Integer> currentLoopBlock = new Stack(); //keep track of loop
     private int loopCounter = 0;
+    private int trees = 0;
 
     public Parser(TokenSource tokenSource) {
         this.tokenSource = tokenSource;
     }
 
     public ProgramTree parseProgram() {
-        ProgramTree programTree = new ProgramTree(List.of(parseFunction()), this.scopes);
+        ProgramTree programTree = new ProgramTree(List.of(parseFunction()), this.scopes, id());
         if (this.tokenSource.hasMore()) {
             throw new ParseException("expected end of input but got " + this.tokenSource.peek());
         }
@@ -44,8 +40,8 @@ public class Parser {
     }
 
     private FunctionTree parseFunction() {
-        Keyword returnType = this.tokenSource.expectKeyword(KeywordType.INT);
-        Identifier identifier = this.tokenSource.expectIdentifier();
+        Span returnType = this.tokenSource.span(this.tokenSource.expectKeyword(KeywordType.INT));
+        NameTree name = name(this.tokenSource.expectIdentifier());
         this.tokenSource.expectSeparator(SeparatorType.PAREN_OPEN);
         this.tokenSource.expectSeparator(SeparatorType.PAREN_CLOSE);
 
@@ -54,38 +50,38 @@ public class Parser {
         leaveCurrentBlock();
 
         return new FunctionTree(
-                new TypeTree(BasicType.INT, returnType.span()),
-                name(identifier),
-                body);
+                new TypeTree(BasicType.INT, returnType, id()),
+                name,
+                body, id());
     }
 
     private BlockTree parseBlock() {
-        Separator bodyOpen = this.tokenSource.expectSeparator(SeparatorType.BRACE_OPEN);
+        Span bodyOpen = this.tokenSource.span(this.tokenSource.expectSeparator(SeparatorType.BRACE_OPEN));
         List<StatementTree> statements = new ArrayList<>();
-        while (!(this.tokenSource.peek() instanceof Separator sep && sep.type() == SeparatorType.BRACE_CLOSE)) {
+        while (!this.tokenSource.peekIsSeparator(SeparatorType.BRACE_CLOSE)) {
             statements.add(parseStatement());
         }
-        Separator bodyClose = this.tokenSource.expectSeparator(SeparatorType.BRACE_CLOSE);
-        return new BlockTree(statements, bodyOpen.span().merge(bodyClose.span()));
+        Span bodyClose = this.tokenSource.span(this.tokenSource.expectSeparator(SeparatorType.BRACE_CLOSE));
+        return new BlockTree(statements, bodyOpen.merge(bodyClose), id());
     }
 
     private StatementTree parseStatement() {
         StatementTree statement;
-        if (this.tokenSource.peek().isKeyword(KeywordType.INT) || this.tokenSource.peek().isKeyword(KeywordType.BOOL)) {
+        if (this.tokenSource.peekIsKeyword(KeywordType.INT) || this.tokenSource.peekIsKeyword(KeywordType.BOOL)) {
             statement = parseDeclaration();
-        } else if (this.tokenSource.peek().isKeyword(KeywordType.RETURN)) {
+        } else if (this.tokenSource.peekIsKeyword(KeywordType.RETURN)) {
             statement = parseReturn();
-        } else if (this.tokenSource.peek().isKeyword(KeywordType.WHILE)) {
+        } else if (this.tokenSource.peekIsKeyword(KeywordType.WHILE)) {
             statement = parseWhile();
-        } else if (this.tokenSource.peek().isKeyword(KeywordType.BREAK)) {
+        } else if (this.tokenSource.peekIsKeyword(KeywordType.BREAK)) {
             statement = parseBreak();
-        } else if (this.tokenSource.peek().isKeyword(KeywordType.IF)) {
+        } else if (this.tokenSource.peekIsKeyword(KeywordType.IF)) {
             statement = parseIf();
-        } else if (this.tokenSource.peek().isKeyword(KeywordType.CONTINUE)) {
+        } else if (this.tokenSource.peekIsKeyword(KeywordType.CONTINUE)) {
             statement = parseContinue();
-        } else if (this.tokenSource.peek().isKeyword(KeywordType.FOR)) {
+        } else if (this.tokenSource.peekIsKeyword(KeywordType.FOR)) {
             statement = parseFor();
-        } else if (this.tokenSource.peek().isSeparator(SeparatorType.BRACE_OPEN)) {
+        } else if (this.tokenSource.peekIsSeparator(SeparatorType.BRACE_OPEN)) {
                 statement = parseBlock();
         } else {
             statement = parseSimple();
@@ -99,66 +95,65 @@ public class Parser {
     }
 
     private StatementTree parseDeclaration() {
-        Keyword typeToken;
+        Span typeSpan;
         BasicType type;
-        if (this.tokenSource.peek().isKeyword(KeywordType.INT)) {
-            typeToken = this.tokenSource.expectKeyword(KeywordType.INT);
+        if (this.tokenSource.peekIsKeyword(KeywordType.INT)) {
+            typeSpan = this.tokenSource.span(this.tokenSource.expectKeyword(KeywordType.INT));
             type = BasicType.INT;
-        } else if (this.tokenSource.peek().isKeyword(KeywordType.BOOL)) {
-            typeToken = this.tokenSource.expectKeyword(KeywordType.BOOL);
+        } else if (this.tokenSource.peekIsKeyword(KeywordType.BOOL)) {
+            typeSpan = this.tokenSource.span(this.tokenSource.expectKeyword(KeywordType.BOOL));
             type = BasicType.BOOL;
         } else {
             throw new ParseException("expected type (int or bool) but got " + this.tokenSource.peek());
         }
-        Identifier ident = this.tokenSource.expectIdentifier();
+        NameTree name = name(this.tokenSource.expectIdentifier());
         ExpressionTree expr = null;
-        if (this.tokenSource.peek().isOperator(OperatorType.ASSIGN)) {
+        if (this.tokenSource.peekIsOperator(OperatorType.ASSIGN)) {
             this.tokenSource.expectOperator(OperatorType.ASSIGN);
             expr = parseExpression();
         }
-        return new DeclarationTree(new TypeTree(type, typeToken.span()), name(ident), expr, this.currentBlock.peek().getId());
+        return new DeclarationTree(new TypeTree(type, typeSpan, id()), name, expr, this.currentBlock.peek().getId(), id());
     }
 
     private StatementTree parseSimple() {
         LValueTree lValue = parseLValue();
         Operator assignmentOperator = parseAssignmentOperator();
         ExpressionTree expression = parseExpression();
-        return new AssignmentTree(lValue, assignmentOperator, expression, this.currentBlock.peek().getId());
+        return new AssignmentTree(lValue, assignmentOperator, expression, this.currentBlock.peek().getId(), id());
     }
 
     private Operator parseAssignmentOperator() {
-        if (this.tokenSource.peek() instanceof Operator op) {
-            return switch (op.type()) {
+        OperatorType type = this.tokenSource.peekOperator();
+        if (type != null) {
+            return switch (type) {
                 case ASSIGN, ASSIGN_DIV, ASSIGN_MINUS, ASSIGN_MOD, ASSIGN_MUL, ASSIGN_PLUS,
-                     ASSIGN_BITWISE_AND, ASSIGN_BITWISE_OR, ASSIGN_BITWISE_XOR, ASSIGN_SHIFT_LEFT, ASSIGN_SHIFT_RIGHT -> {
-                    this.tokenSource.consume();
-                    yield op;
-                }
-                default -> throw new ParseException("expected assignment but got " + op.type());
+                     ASSIGN_BITWISE_AND, ASSIGN_BITWISE_OR, ASSIGN_BITWISE_XOR, ASSIGN_SHIFT_LEFT, ASSIGN_SHIFT_RIGHT ->
+                    new Operator(type, this.tokenSource.span(this.tokenSource.consume()));
+                default -> throw new ParseException("expected assignment but got " + type);
             };
         }
         throw new ParseException("expected assignment but got " + this.tokenSource.peek());
     }
 
     private LValueTree parseLValue() {
-        if (this.tokenSource.peek().isSeparator(SeparatorType.PAREN_OPEN)) {
+        if (this.tokenSource.peekIsSeparator(SeparatorType.PAREN_OPEN)) {
             this.tokenSource.expectSeparator(SeparatorType.PAREN_OPEN);
             LValueTree inner = parseLValue();
             this.tokenSource.expectSeparator(SeparatorType.PAREN_CLOSE);
             return inner;
         }
-        Identifier identifier = this.tokenSource.expectIdentifier();
-        return new LValueIdentTree(name(identifier));
+        int identifier = this.tokenSource.expectIdentifier();
+        return new LValueIdentTree(name(identifier), id());
     }
 
     private StatementTree parseReturn() {
-        Keyword ret = this.tokenSource.expectKeyword(KeywordType.RETURN);
+        Span ret = this.tokenSource.span(this.tokenSource.expectKeyword(KeywordType.RETURN));
         ExpressionTree expression = parseExpression();
-        return new ReturnTree(expression, ret.span().start());
+        return new ReturnTree(expression, ret, id());
     }
 
     private StatementTree parseIf() {
-        Keyword ifKeyword = this.tokenSource.expectKeyword(KeywordType.IF);
+        Span ifKeyword = this.tokenSource.span(this.tokenSource.expectKeyword(KeywordType.IF));
         this.tokenSource.expectSeparator(SeparatorType.PAREN_OPEN);
         ExpressionTree condition = parseExpression();
         this.tokenSource.expectSeparator(SeparatorType.PAREN_CLOSE);
@@ -168,14 +163,14 @@ public class Parser {
         leaveCurrentBlock();
 
         StatementTree elseStmt = null;
-        if (this.tokenSource.peek().isKeyword(KeywordType.ELSE)) {
+        if (this.tokenSource.peekIsKeyword(KeywordType.ELSE)) {
             this.tokenSource.expectKeyword(KeywordType.ELSE);
             enterNewScope();
             elseStmt = parseStatement();
             leaveCurrentBlock();
         }
 
-        return new IfTree(condition, thenStmt, elseStmt, ifKeyword.span());
+        return new IfTree(condition, thenStmt, elseStmt, ifKeyword, id());
     }
 
     public List<Scope> getScopes() {
@@ -258,10 +253,10 @@ public class Parser {
         ExpressionTree lhs = parseFactor();
 
         while (true) {
-            Token next = this.tokenSource.peek();
-            if (!(next instanceof Operator op))
+            OperatorType type = this.tokenSource.peekOperator();
+            if (type == null)
                 break;
-            OpInfo info = OP_INFO.get(op.type());
+            OpInfo info = OP_INFO.get(type);
             if (info == null)
                 break;
 
@@ -271,29 +266,31 @@ public class Parser {
             if (prec < minPrec)
                 break;
 
-            this.tokenSource.consume();
+            int op = this.tokenSource.consume();
 
-            if (op.type() == OperatorType.QUESTION) {
+            if (type == OperatorType.QUESTION) {
                 ExpressionTree thenExpr = parseExprPrec(0);
                 this.tokenSource.expectOperator(OperatorType.COLON);
                 ExpressionTree elseExpr = parseExprPrec(prec);
-                lhs = new TernaryOperationTree(lhs, thenExpr, elseExpr);
+                lhs = new TernaryOperationTree(lhs, thenExpr, elseExpr, id());
                 continue;
             }
 
             int nextMinPrec = right ? prec : prec + 1;
-            ExpressionTree rhs = parseExprPrec(nextMinPrec);
 
-            if (op.type() == OperatorType.AND) {
-                lhs = new TernaryOperationTree(lhs, rhs, new BoolLiteralTree(false, op.span()));
+            if (type == OperatorType.AND) {
+                Span span = this.tokenSource.span(op);
+                lhs = new TernaryOperationTree(lhs, parseExprPrec(nextMinPrec), new BoolLiteralTree(false, span, id()), id());
                 continue;
             }
-            if (op.type() == OperatorType.OR) {
-                lhs = new TernaryOperationTree(lhs, new BoolLiteralTree(true, op.span()), rhs);
+            if (type == OperatorType.OR) {
+                Span span = this.tokenSource.span(op);
+                lhs = new TernaryOperationTree(lhs, new BoolLiteralTree(true, span, id()), parseExprPrec(nextMinPrec), id());
                 continue;
             }
 
-            lhs = new BinaryOperationTree(lhs, rhs, op.type());
+            ExpressionTree rhs = parseExprPrec(nextMinPrec);
+            lhs = new BinaryOperationTree(lhs, rhs, type, id());
         }
 
         return lhs;
@@ -318,44 +315,46 @@ public class Parser {
     }
 
     private ExpressionTree parseFactor() {
-        return switch (this.tokenSource.peek()) {
-            case Separator(var type, _) when type == SeparatorType.PAREN_OPEN -> {
-                this.tokenSource.consume();
-                ExpressionTree expression = parseExpression();
-                this.tokenSource.expectSeparator(SeparatorType.PAREN_CLOSE);
-                yield expression;
-            }
-            case Operator(var type, _) when type == OperatorType.MINUS -> {
-                Span span = this.tokenSource.consume().span();
-                yield new NegateTree(parseFactor(), span);
-            }
-            case Identifier ident -> {
-                this.tokenSource.consume();
-                yield new IdentExpressionTree(name(ident), this.currentBlock.peek().getId());
-            }
-            case NumberLiteral(String value, int base, Span span) -> {
-                this.tokenSource.consume();
-                yield new LiteralTree(value, base, span);
-            }
-            case Keyword(var type, var span) when type == KeywordType.TRUE -> {
-                this.tokenSource.consume();
-                yield new BoolLiteralTree(true, span);
-            }
-            case Keyword(var type, var span) when type == KeywordType.FALSE -> {
-                this.tokenSource.consume();
-                yield new BoolLiteralTree(false, span);
-            }
-            case Operator(var type, _) when type == OperatorType.NOT -> {
-                Span span = this.tokenSource.consume().span();
-                yield new LogicalNotTree(parseFactor(), span);
-            }
+        int kind = this.tokenSource.peekKind();
+        if (kind == TokenKind.separator(SeparatorType.PAREN_OPEN)) {
+            this.tokenSource.consume();
+            ExpressionTree expression = parseExpression();
+            this.tokenSource.expectSeparator(SeparatorType.PAREN_CLOSE);
+            return expression;
+        }
+        if (kind == TokenKind.operator(OperatorType.MINUS)) {
+            Span span = this.tokenSource.span(this.tokenSource.consume());
+            return new NegateTree(parseFactor(), span, id());
+        }
+        if (kind == TokenKind.IDENTIFIER) {
+            return new IdentExpressionTree(name(this.tokenSource.consume()), this.currentBlock.peek().getId(), id());
+        }
+        if (TokenKind.isNumberLiteral(kind)) {
+            int literal = this.tokenSource.consume();
+            int base = kind == TokenKind.HEX_LITERAL ? 16 : 10;
+            return new LiteralTree(this.tokenSource.text(literal), base, this.tokenSource.span(literal), id());
+        }
+        if (kind == TokenKind.keyword(KeywordType.TRUE)) {
+            return new BoolLiteralTree(true, this.tokenSource.span(this.tokenSource.consume()), id());
+        }
+        if (kind == TokenKind.keyword(KeywordType.FALSE)) {
+            return new BoolLiteralTree(false, this.tokenSource.span(this.tokenSource.consume()), id());
+        }
+        if (kind == TokenKind.operator(OperatorType.NOT)) {
+            Span span = this.tokenSource.span(this.tokenSource.consume());
+            return new LogicalNotTree(parseFactor(), span, id());
+        }
+        throw new ParseException("invalid factor " + this.tokenSource.peek());
+    }
 
-            case Token t -> throw new ParseException("invalid factor " + t);
-        };
+    /// {@return the id of the next tree}
+    /// It must be taken after all children of the tree are parsed, so the program gets the largest id.
+    private int id() {
+        return this.trees++;
     }
 
-    private static NameTree name(Identifier ident) {
-        return new NameTree(Name.forIdentifier(ident), ident.span());
+    private NameTree name(int identifier) {
+        return new NameTree(this.tokenSource.name(identifier), this.tokenSource.span(identifier), id());
     }
 
     private StatementTree parseFor() {
@@ -368,9 +367,9 @@ public class Parser {
         int currentLoopId = getCurrentLoopBlock();
 
         StatementTree init = null;
-        if (!this.tokenSource.peek().isSeparator(SeparatorType.SEMICOLON)) {
-            if (this.tokenSource.peek().isKeyword(KeywordType.INT)
-                    || this.tokenSource.peek().isKeyword(KeywordType.BOOL)) {
+        if (!this.tokenSource.peekIsSeparator(SeparatorType.SEMICOLON)) {
+            if (this.tokenSource.peekIsKeyword(KeywordType.INT)
+                    || this.tokenSource.peekIsKeyword(KeywordType.BOOL)) {
                 init = parseDeclaration();
             } else {
                 init = parseSimple();
@@ -379,13 +378,13 @@ public class Parser {
         this.tokenSource.expectSeparator(SeparatorType.SEMICOLON);
 
         ExpressionTree condition = null;
-        if (!this.tokenSource.peek().isSeparator(SeparatorType.SEMICOLON)) {
+        if (!this.tokenSource.peekIsSeparator(SeparatorType.SEMICOLON)) {
             condition = parseExpression();
         }
         this.tokenSource.expectSeparator(SeparatorType.SEMICOLON);
 
         ExpressionTree update = null;
-        if (!this.tokenSource.peek().isSeparator(SeparatorType.PAREN_CLOSE)) {
+        if (!this.tokenSource.peekIsSeparator(SeparatorType.PAREN_CLOSE)) {
             update = parseExpression();
         }
         this.tokenSource.expectSeparator(SeparatorType.PAREN_CLOSE);
@@ -395,25 +394,25 @@ public class Parser {
         leaveCurrentLoopBlock();
         leaveCurrentBlock();
 
-        return new ForTree(init, condition, update, body, currentLoopId);
+        return new ForTree(init, condition, update, body, currentLoopId, id());
     }
 
     private StatementTree parseContinue() {
-        Keyword continueKeyword = this.tokenSource.expectKeyword(KeywordType.CONTINUE);
+        int continueKeyword = this.tokenSource.expectKeyword(KeywordType.CONTINUE);
         int loopBlock = getCurrentLoopBlock();
         if (loopBlock == -1) {
             //throw new SemanticException("continue statement not in loop");
         }
-        return new ContinueTree(continueKeyword.span(), loopBlock);
+        return new ContinueTree(this.tokenSource.span(continueKeyword), loopBlock, id());
     }
 
     private StatementTree parseBreak() {
-        Keyword breakKeyword = this.tokenSource.expectKeyword(KeywordType.BREAK);
+        int breakKeyword = this.tokenSource.expectKeyword(KeywordType.BREAK);
         int loopBlock = getCurrentLoopBlock();
         if (loopBlock == -1) {
             //throw new SemanticException("break statement not in loop");
         }
-        return new BreakTree(breakKeyword.span(), loopBlock);
+        return new BreakTree(this.tokenSource.span(breakKeyword), loopBlock, id());
     }
 
     private StatementTree parseWhile() {
@@ -431,12 +430,12 @@ public class Parser {
         leaveCurrentBlock();
         leaveCurrentLoopBlock();
 
-        return new WhileTree(condition, body, currentLoopId);
+        return new WhileTree(condition, body, currentLoopId, id());
     }
 
 
     private StatementTree parseOptionalBlockOrStatement() {
-        if (this.tokenSource.peek().isSeparator(SeparatorType.BRACE_OPEN)) {
+        if (this.tokenSource.peekIsSeparator(SeparatorType.BRACE_OPEN)) {
             enterNewScope();
             StatementTree block = parseBlock();
             leaveCurrentBlock();
@@ -28,7 +28,7 @@ public class Printer {
 
     private void printTree(Tree tree) {
         switch (tree) {
-            case BlockTree(List<StatementTree> statements, _) -> {
+            case BlockTree(List<StatementTree> statements, _, _) -> {
                 print("{");
                 lineBreak();
                 this.indentDepth++;
@@ -38,7 +38,7 @@ public class Printer {
                 this.indentDepth--;
                 print("}");
             }
-            case FunctionTree(var returnType, var name, var body) -> {
+            case FunctionTree(var returnType, var name, var body, _) -> {
                 printTree(returnType);
                 space();
                 printTree(name);
@@ -46,15 +46,15 @@ public class Printer {
                 space();
                 printTree(body);
             }
-            case NameTree(var name, _) -> print(name.asString());
-            case ProgramTree(var topLevelTrees, var scope) -> {
+            case NameTree(var name, _, _) -> print(name.asString());
+            case ProgramTree(var topLevelTrees, var scope, _) -> {
                 for (FunctionTree function : topLevelTrees) {
                     printTree(function);
                     lineBreak();
                 }
             }
-            case TypeTree(var type, _) -> print(type.asString());
-            case BinaryOperationTree(var lhs, var rhs, var op) -> {
+            case TypeTree(var type, _, _) -> print(type.asString());
+            case BinaryOperationTree(var lhs, var rhs, var op, _) -> {
                 print("(");
                 printTree(lhs);
                 print(")");
@@ -65,19 +65,19 @@ public class Printer {
                 printTree(rhs);
                 print(")");
             }
-            case LiteralTree(var value, _, _) -> this.builder.append(value);
-            case BoolLiteralTree(var value, _) -> this.builder.append(value);
-            case NegateTree(var expression, _) -> {
+            case LiteralTree(var value, _, _, _) -> this.builder.append(value);
+            case BoolLiteralTree(var value, _, _) -> this.builder.append(value);
+            case NegateTree(var expression, _, _) -> {
                 print("-(");
                 printTree(expression);
                 print(")");
             }
-            case LogicalNotTree(var expression, _) -> {
+            case LogicalNotTree(var expression, _, _) -> {
                 print("!(");
                 printTree(expression);
                 print(")");
             }
-            case AssignmentTree(var lValue, var op, var expression, _) -> {
+            case AssignmentTree(var lValue, var op, var expression, _, _) -> {
                 printTree(lValue);
                 space();
                 this.builder.append(op);
@@ -85,7 +85,7 @@ public class Printer {
                 printTree(expression);
                 semicolon();
             }
-            case DeclarationTree(var type, var name, var initializer, _) -> {
+            case DeclarationTree(var type, var name, var initializer, _, _) -> {
                 printTree(type);
                 space();
                 printTree(name);
@@ -95,24 +95,24 @@ public class Printer {
                 }
                 semicolon();
             }
-            case ReturnTree(var expr, _) -> {
+            case ReturnTree(var expr, _, _) -> {
                 print("return ");
                 printTree(expr);
                 semicolon();
             }
-            case LValueIdentTree(var name) -> printTree(name);
-            case IdentExpressionTree(var name, var block) -> printTree(name);
-            case WhileTree(var condition, var body, _) -> {
+            case LValueIdentTree(var name, _) -> printTree(name);
+            case IdentExpressionTree(var name, var block, _) -> printTree(name);
+            case WhileTree(var condition, var body, _, _) -> {
                 print("while (");
                 printTree(condition);
                 print(") ");
                 printTree(body);
             }
-            case BreakTree(_, _) -> {
+            case BreakTree(_, _, _) -> {
                 print("break");
                 semicolon();
             }
-            case IfTree(var condition, var thenBranch, var elseBranch, _) -> {
+            case IfTree(var condition, var thenBranch, var elseBranch, _, _) -> {
                 print("if (");
                 printTree(condition);
                 print(") ");
@@ -123,7 +123,7 @@ public class Printer {
                 }
             }
 
-            case ForTree(var init, var condition, var update, var body, _) -> {
+            case ForTree(var init, var condition, var update, var body, _, _) -> {
                 print("for (");
                 if (init != null) {
                     printTree(init);
@@ -140,12 +140,12 @@ public class Printer {
                 printTree(body);
             }
 
-            case ContinueTree(_, _) -> {
+            case ContinueTree(_, _, _) -> {
                 print("continue");
                 semicolon();
             }
 
-            case TernaryOperationTree(var condition, var thenBranch, var elseBranch) -> {
+            case TernaryOperationTree(var condition, var thenBranch, var elseBranch, _) -> {
                 print("(");
                 printTree(condition);
                 print(") ? ");
@@ -1,87 +1,165 @@
 package edu.kit.kastel.vads.compiler.parser;
 
-import edu.kit.kastel.vads.compiler.lexer.Identifier;
-import edu.kit.kastel.vads.compiler.lexer.Keyword;
+import edu.kit.kastel.vads.compiler.Span;
 import edu.kit.kastel.vads.compiler.lexer.KeywordType;
 import edu.kit.kastel.vads.compiler.lexer.Lexer;
-import edu.kit.kastel.vads.compiler.lexer.Operator;
 import edu.kit.kastel.vads.compiler.lexer.Operator.OperatorType;
-import edu.kit.kastel.vads.compiler.lexer.Separator;
 import edu.kit.kastel.vads.compiler.lexer.Separator.SeparatorType;
 import edu.kit.kastel.vads.compiler.lexer.Token;
+import edu.kit.kastel.vads.compiler.lexer.TokenKind;
+import edu.kit.kastel.vads.compiler.parser.symbol.IdentName;
+import edu.kit.kastel.vads.compiler.parser.symbol.SymbolTable;
+import org.jspecify.annotations.Nullable;
 
-import java.util.List;
-import java.util.Optional;
-import java.util.stream.Stream;
-
+/// Provides the tokens of a [Lexer] to the [Parser].
+/// Tokens are read from the lexer only when the parser looks at them,
+/// so lexing and parsing interleave and only a few tokens are kept in a ring buffer.
+///
+/// Tokens are referred to by their index, the `expect` and `consume` methods return the index
+/// of the consumed token. The [#span(int)] and [#text(int)] of a consumed token must be queried
+/// before the next token is consumed. [Token] objects are only created for error messages.
+/// Identifiers are interned into a [SymbolTable] shared by all names of the program.
 public class TokenSource {
-    private final List<Token> tokens;
+    // the parser looks at one token ahead and at the token consumed last
+    private static final int CAPACITY = 4;
+    private static final int MASK = CAPACITY - 1;
+
+    private final Lexer lexer;
+    private final SymbolTable symbols;
+    private final int[] kinds = new int[CAPACITY];
+    private final long[] starts = new long[CAPACITY];
+    private final int[] lengths = new int[CAPACITY];
+    // number of tokens read from the lexer so far
+    private int read;
+    private boolean exhausted;
     private int idx;
 
     public TokenSource(Lexer lexer) {
-        this.tokens = Stream.generate(lexer::nextToken)
-            .takeWhile(Optional::isPresent)
-            .map(Optional::orElseThrow)
-            .toList();
+        this(lexer, new SymbolTable());
+    }
+
+    public TokenSource(Lexer lexer, SymbolTable symbols) {
+        this.lexer = lexer;
+        this.symbols = symbols;
     }
 
-    TokenSource(List<Token> tokens) {
-        this.tokens = List.copyOf(tokens);
+    public SymbolTable symbols() {
+        return this.symbols;
     }
 
     public Token peek() {
         expectHasMore();
-        return this.tokens.get(this.idx);
+        return this.lexer.token(this.kinds[this.idx & MASK], this.starts[this.idx & MASK],
+            this.lengths[this.idx & MASK], span(this.idx));
+    }
+
+    /// {@return the [TokenKind] of the next token}
+    public int peekKind() {
+        expectHasMore();
+        return this.kinds[this.idx & MASK];
+    }
+
+    public boolean peekIsKeyword(KeywordType type) {
+        return peekKind() == TokenKind.keyword(type);
+    }
+
+    public boolean peekIsSeparator(SeparatorType type) {
+        return peekKind() == TokenKind.separator(type);
+    }
+
+    public boolean peekIsOperator(OperatorType type) {
+        return peekKind() == TokenKind.operator(type);
+    }
+
+    /// {@return the type of the next token if it is an operator, `null` otherwise}
+    public @Nullable OperatorType peekOperator() {
+        return TokenKind.operatorType(peekKind());
     }
 
-    public Keyword expectKeyword(KeywordType type) {
-        Token token = peek();
-        if (!(token instanceof Keyword kw) || kw.type() != type) {
-            throw new ParseException("expected keyword '" + type + "' but got " + token);
+    public int expectKeyword(KeywordType type) {
+        if (!peekIsKeyword(type)) {
+            throw new ParseException("expected keyword '" + type + "' but got " + peek());
         }
-        this.idx++;
-        return kw;
+        return this.idx++;
     }
 
-    public Separator expectSeparator(SeparatorType type) {
-        Token token = peek();
-        if (!(token instanceof Separator sep) || sep.type() != type) {
-            throw new ParseException("expected separator '" + type + "' but got " + token);
+    public int expectSeparator(SeparatorType type) {
+        if (!peekIsSeparator(type)) {
+            throw new ParseException("expected separator '" + type + "' but got " + peek());
         }
-        this.idx++;
-        return sep;
+        return this.idx++;
     }
 
-    public Operator expectOperator(OperatorType type) {
-        Token token = peek();
-        if (!(token instanceof Operator op) || op.type() != type) {
-            throw new ParseException("expected operator '" + type + "' but got " + token);
+    public int expectOperator(OperatorType type) {
+        if (!peekIsOperator(type)) {
+            throw new ParseException("expected operator '" + type + "' but got " + peek());
         }
-        this.idx++;
-        return op;
+        return this.idx++;
     }
-    public Identifier expectIdentifier() {
-        Token token = peek();
-        if (!(token instanceof Identifier ident)) {
-            throw new ParseException("expected identifier but got " + token);
+
+    public int expectIdentifier() {
+        if (peekKind() != TokenKind.IDENTIFIER) {
+            throw new ParseException("expected identifier but got " + peek());
         }
-        this.idx++;
-        return ident;
+        return this.idx++;
     }
 
-    public Token consume() {
-        Token token = peek();
-        this.idx++;
-        return token;
+    public int consume() {
+        expectHasMore();
+        return this.idx++;
+    }
+
+    public Span span(int index) {
+        checkBuffered(index);
+        return this.lexer.span(this.starts[index & MASK], this.lengths[index & MASK]);
+    }
+
+    public String text(int index) {
+        checkBuffered(index);
+        return this.lexer.text(this.starts[index & MASK], this.lengths[index & MASK]);
+    }
+
+    /// {@return the interned name of the given identifier token}
+    public IdentName name(int index) {
+        checkBuffered(index);
+        return this.symbols.intern(this.lexer.source(), this.starts[index & MASK], this.lengths[index & MASK]);
+    }
+
+    /// {@return the number of tokens read from the lexer so far}
+    public int tokenCount() {
+        return this.read;
     }
 
     public boolean hasMore() {
-        return this.idx < this.tokens.size();
+        fill();
+        return this.idx < this.read;
     }
 
     private void expectHasMore() {
-        if (this.idx >= this.tokens.size()) {
+        if (!hasMore()) {
             throw new ParseException("reached end of file");
         }
     }
+
+    /// Reads the token at the current index from the lexer if it was not read yet.
+    private void fill() {
+        while (this.read <= this.idx && !this.exhausted) {
+            int kind = this.lexer.scan();
+            if (kind == TokenKind.END) {
+                this.exhausted = true;
+                return;
+            }
+            int slot = this.read & MASK;
+            this.kinds[slot] = kind;
+            this.starts[slot] = this.lexer.tokenStart();
+            this.lengths[slot] = this.lexer.tokenLength();
+            this.read++;
+        }
+    }
+
+    private void checkBuffered(int index) {
+        if (index < this.read - CAPACITY || index >= this.read) {
+            throw new IllegalStateException("token " + index + " is no longer buffered");
+        }
+    }
 }
@@ -4,7 +4,7 @@ import edu.kit.kastel.vads.compiler.lexer.Operator;
 import edu.kit.kastel.vads.compiler.Span;
 import edu.kit.kastel.vads.compiler.parser.visitor.Visitor;
 
-public record AssignmentTree(LValueTree lValue, Operator operator, ExpressionTree expression, int block) implements StatementTree {
+public record AssignmentTree(LValueTree lValue, Operator operator, ExpressionTree expression, int block, int id) implements StatementTree {
     @Override
     public Span span() {
         return lValue().span().merge(expression().span());
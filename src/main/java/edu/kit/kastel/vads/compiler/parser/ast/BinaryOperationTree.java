@@ -5,7 +5,7 @@ import edu.kit.kastel.vads.compiler.Span;
 import edu.kit.kastel.vads.compiler.parser.visitor.Visitor;
 
 public record BinaryOperationTree(
-    ExpressionTree lhs, ExpressionTree rhs, Operator.OperatorType operatorType
+    ExpressionTree lhs, ExpressionTree rhs, Operator.OperatorType operatorType, int id
 ) implements ExpressionTree {
     @Override
     public Span span() {
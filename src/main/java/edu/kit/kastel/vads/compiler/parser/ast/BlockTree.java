@@ -5,7 +5,7 @@ import edu.kit.kastel.vads.compiler.parser.visitor.Visitor;
 
 import java.util.List;
 
-public record BlockTree(List<StatementTree> statements, Span span) implements StatementTree {
+public record BlockTree(List<StatementTree> statements, Span span, int id) implements StatementTree {
 
     public BlockTree {
         statements = List.copyOf(statements);
@@ -3,7 +3,7 @@ package edu.kit.kastel.vads.compiler.parser.ast;
 import edu.kit.kastel.vads.compiler.Span;
 import edu.kit.kastel.vads.compiler.parser.visitor.Visitor;
 
-public record BoolLiteralTree(boolean value, Span span) implements ExpressionTree {
+public record BoolLiteralTree(boolean value, Span span, int id) implements ExpressionTree {
     @Override
     public <T, R> R accept(Visitor<T, R> visitor, T data) {
         return visitor.visit(this, data);
@@ -3,7 +3,7 @@ package edu.kit.kastel.vads.compiler.parser.ast;
 import edu.kit.kastel.vads.compiler.Span;
 import edu.kit.kastel.vads.compiler.parser.visitor.Visitor;
 
-public record ContinueTree(Span span, int loopId) implements StatementTree {
+public record ContinueTree(Span span, int loopId, int id) implements StatementTree {
 
     @Override
     public <T, R> R accept(Visitor<T, R> visitor, T data) {
@@ -8,11 +8,12 @@ public record ForTree(
     ExpressionTree condition,
     ExpressionTree update,
     StatementTree body,
-    int loopId
+    int loopId,
+    int id
 ) implements StatementTree {
     @Override
     public Span span() {
-        return new Span.SimpleSpan(init.span().start(), body.span().end());
+        return init.span().merge(body.span());
     }
 
     @Override
@@ -3,10 +3,10 @@ package edu.kit.kastel.vads.compiler.parser.ast;
 import edu.kit.kastel.vads.compiler.Span;
 import edu.kit.kastel.vads.compiler.parser.visitor.Visitor;
 
-public record FunctionTree(TypeTree returnType, NameTree name, BlockTree body) implements Tree {
+public record FunctionTree(TypeTree returnType, NameTree name, BlockTree body, int id) implements Tree {
     @Override
     public Span span() {
-        return new Span.SimpleSpan(returnType().span().start(), body().span().end());
+        return returnType().span().merge(body().span());
     }
 
     @Override
@@ -3,7 +3,7 @@ package edu.kit.kastel.vads.compiler.parser.ast;
 import edu.kit.kastel.vads.compiler.Span;
 import edu.kit.kastel.vads.compiler.parser.visitor.Visitor;
 
-public record IdentExpressionTree(NameTree name, int block) implements ExpressionTree {
+public record IdentExpressionTree(NameTree name, int block, int id) implements ExpressionTree {
     @Override
     public Span span() {
         return name().span();
@@ -3,7 +3,7 @@ package edu.kit.kastel.vads.compiler.parser.ast;
 import edu.kit.kastel.vads.compiler.Span;
 import edu.kit.kastel.vads.compiler.parser.visitor.Visitor;
 
-public record IfTree(ExpressionTree condition, StatementTree thenBranch, StatementTree elseBranch, Span span) implements StatementTree {
+public record IfTree(ExpressionTree condition, StatementTree thenBranch, StatementTree elseBranch, Span span, int id) implements StatementTree {
     @Override
     public Span span() {
         return span;
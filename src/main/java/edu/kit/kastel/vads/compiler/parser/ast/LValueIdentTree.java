@@ -3,7 +3,7 @@ package edu.kit.kastel.vads.compiler.parser.ast;
 import edu.kit.kastel.vads.compiler.Span;
 import edu.kit.kastel.vads.compiler.parser.visitor.Visitor;
 
-public record LValueIdentTree(NameTree name) implements LValueTree {
+public record LValueIdentTree(NameTree name, int id) implements LValueTree {
     @Override
     public Span span() {
         return name().span();
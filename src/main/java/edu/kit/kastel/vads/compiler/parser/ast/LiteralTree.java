@@ -7,7 +7,7 @@ import edu.kit.kastel.vads.compiler.semantic.SemanticException;
 import java.util.Optional;
 import java.util.OptionalLong;
 
-public record LiteralTree(String value, int base, Span span) implements ExpressionTree {
+public record LiteralTree(String value, int base, Span span, int id) implements ExpressionTree {
     @Override
     public <T, R> R accept(Visitor<T, R> visitor, T data) {
         return visitor.visit(this, data);
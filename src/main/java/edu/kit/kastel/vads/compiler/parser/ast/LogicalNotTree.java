@@ -3,7 +3,7 @@ package edu.kit.kastel.vads.compiler.parser.ast;
 import edu.kit.kastel.vads.compiler.Span;
 import edu.kit.kastel.vads.compiler.parser.visitor.Visitor;
 
-public record LogicalNotTree(ExpressionTree expression, Span notPos) implements ExpressionTree {
+public record LogicalNotTree(ExpressionTree expression, Span notPos, int id) implements ExpressionTree {
     @Override
     public Span span() {
         return notPos().merge(expression().span());
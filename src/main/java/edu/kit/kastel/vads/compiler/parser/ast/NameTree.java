@@ -4,9 +4,15 @@ import edu.kit.kastel.vads.compiler.Span;
 import edu.kit.kastel.vads.compiler.parser.symbol.Name;
 import edu.kit.kastel.vads.compiler.parser.visitor.Visitor;
 
-public record NameTree(Name name, Span span) implements Tree {
+public record NameTree(Name name, Span span, int id) implements Tree {
     @Override
     public <T, R> R accept(Visitor<T, R> visitor, T data) {
         return visitor.visit(this, data);
     }
+
+    // names are printed in semantic errors, which should not show the internal id
+    @Override
+    public String toString() {
+        return "NameTree[name=" + name() + ", span=" + span() + "]";
+    }
 }
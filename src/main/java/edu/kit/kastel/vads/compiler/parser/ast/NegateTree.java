@@ -3,7 +3,7 @@ package edu.kit.kastel.vads.compiler.parser.ast;
 import edu.kit.kastel.vads.compiler.Span;
 import edu.kit.kastel.vads.compiler.parser.visitor.Visitor;
 
-public record NegateTree(ExpressionTree expression, Span minusPos) implements ExpressionTree {
+public record NegateTree(ExpressionTree expression, Span minusPos, int id) implements ExpressionTree {
     @Override
     public Span span() {
         return minusPos().merge(expression().span());
@@ -6,7 +6,7 @@ import edu.kit.kastel.vads.compiler.parser.visitor.Visitor;
 
 import java.util.List;
 
-public record ProgramTree(List<FunctionTree> topLevelTrees, List<Scope> scopes) implements Tree {
+public record ProgramTree(List<FunctionTree> topLevelTrees, List<Scope> scopes, int id) implements Tree {
     public ProgramTree {
         assert !topLevelTrees.isEmpty() : "must be non-empty";
         topLevelTrees = List.copyOf(topLevelTrees);
@@ -15,7 +15,13 @@ public record ProgramTree(List<FunctionTree> topLevelTrees, List<Scope> scopes)
     public Span span() {
         var first = topLevelTrees.getFirst();
         var last = topLevelTrees.getLast();
-        return new Span.SimpleSpan(first.span().start(), last.span().end());
+        return first.span().merge(last.span());
+    }
+
+    /// {@return the number of trees in this program, an upper bound for the ids of its trees}
+    /// The program is created after all of its trees, so it has the largest id.
+    public int treeCount() {
+        return id() + 1;
     }
 
     @Override
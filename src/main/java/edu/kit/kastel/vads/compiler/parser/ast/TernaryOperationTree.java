@@ -4,11 +4,11 @@ import edu.kit.kastel.vads.compiler.Span;
 import edu.kit.kastel.vads.compiler.parser.visitor.Visitor;
 
 public record TernaryOperationTree(ExpressionTree condition, ExpressionTree trueExpression,
-        ExpressionTree falseExpression) implements ExpressionTree {
+        ExpressionTree falseExpression, int id) implements ExpressionTree {
 
     @Override
     public Span span() {
-        return new Span.SimpleSpan(condition.span().start(), falseExpression.span().end());
+        return condition.span().merge(falseExpression.span());
     }
 
     @Override
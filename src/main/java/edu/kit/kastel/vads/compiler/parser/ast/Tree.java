@@ -7,5 +7,10 @@ public sealed interface Tree permits ExpressionTree, FunctionTree, LValueTree, N
 
     Span span();
 
+    /// {@return the id of this tree, unique in its program}
+    /// The ids are dense and start at zero, so facts about trees can be stored in arrays indexed by them,
+    /// see [ProgramTree#treeCount()].
+    int id();
+
     <T, R> R accept(Visitor<T, R> visitor, T data);
 }
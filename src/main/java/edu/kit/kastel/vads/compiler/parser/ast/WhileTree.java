@@ -3,10 +3,10 @@ package edu.kit.kastel.vads.compiler.parser.ast;
 import edu.kit.kastel.vads.compiler.Span;
 import edu.kit.kastel.vads.compiler.parser.visitor.Visitor;
 
-public record WhileTree(ExpressionTree condition, StatementTree body, int loopId) implements StatementTree {
+public record WhileTree(ExpressionTree condition, StatementTree body, int loopId, int id) implements StatementTree {
     @Override
     public Span span() {
-        return new Span.SimpleSpan(condition().span().start(), body().span().end());
+        return condition().span().merge(body().span());
     }
 
     @Override
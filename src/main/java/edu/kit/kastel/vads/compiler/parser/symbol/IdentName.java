@@ -1,13 +1,22 @@
 package edu.kit.kastel.vads.compiler.parser.symbol;
 
+/// The name of an identifier, created by a [SymbolTable].
+/// Names are compared by their id only.
 public final class IdentName implements Name {
 
+    private final int id;
     private final String identifier;
 
-    public IdentName(String identifier) {
+    IdentName(int id, String identifier) {
+        this.id = id;
         this.identifier = identifier;
     }
 
+    /// {@return the dense number assigned to this name by its [SymbolTable]}
+    public int id() {
+        return id;
+    }
+
     @Override
     public String asString() {
         return identifier;
@@ -17,12 +26,12 @@ public final class IdentName implements Name {
     public boolean equals(Object o) {
         if (this == o) return true;
         if (!(o instanceof IdentName other)) return false;
-        return identifier.equals(other.identifier);
+        return id == other.id;
     }
 
     @Override
     public int hashCode() {
-        return identifier.hashCode();
+        return id;
     }
 
     @Override
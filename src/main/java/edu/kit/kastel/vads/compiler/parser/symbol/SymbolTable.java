@@ -0,0 +1,109 @@
+package edu.kit.kastel.vads.compiler.parser.symbol;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/// Interns identifiers, so each distinct identifier of a program is represented by exactly one [IdentName].
+/// The names are numbered densely in the order they are first seen, their [IdentName#id()]
+/// can be used to index arrays instead of hashing names.
+///
+/// Identifiers are looked up directly from the bytes of the source,
+/// a [String] is only created the first time an identifier is seen.
+/// Names of different tables must not be mixed.
+public final class SymbolTable {
+    private final List<IdentName> names = new ArrayList<>();
+    private final List<byte[]> spellings = new ArrayList<>();
+    // open addressing, a slot holds the id of a name plus one, zero marks an empty slot
+    private int[] slots = new int[64];
+    private int[] hashes = new int[64];
+
+    /// {@return the name of the identifier spelled by the given bytes}
+    public IdentName intern(MemorySegment source, long offset, int length) {
+        int hash = hash(source, offset, length);
+        int mask = this.slots.length - 1;
+        for (int slot = hash & mask; ; slot = (slot + 1) & mask) {
+            int entry = this.slots[slot];
+            if (entry == 0) {
+                byte[] spelling = new byte[length];
+                MemorySegment.copy(source, ValueLayout.JAVA_BYTE, offset, spelling, 0, length);
+                return add(slot, hash, spelling);
+            }
+            if (this.hashes[slot] == hash && matches(this.spellings.get(entry - 1), source, offset, length)) {
+                return this.names.get(entry - 1);
+            }
+        }
+    }
+
+    /// {@return the name of the given identifier}
+    public IdentName intern(String identifier) {
+        byte[] bytes = identifier.getBytes(StandardCharsets.UTF_8);
+        return intern(MemorySegment.ofArray(bytes), 0, bytes.length);
+    }
+
+    /// {@return the name with the given id}
+    public IdentName name(int id) {
+        return this.names.get(id);
+    }
+
+    /// {@return the number of distinct names, all ids are less than that}
+    public int size() {
+        return this.names.size();
+    }
+
+    private IdentName add(int slot, int hash, byte[] spelling) {
+        IdentName name = new IdentName(this.names.size(), new String(spelling, StandardCharsets.UTF_8));
+        this.names.add(name);
+        this.spellings.add(spelling);
+        this.slots[slot] = this.names.size();
+        this.hashes[slot] = hash;
+        // keep the load factor below one half
+        if (this.names.size() * 2 > this.slots.length) {
+            grow();
+        }
+        return name;
+    }
+
+    private void grow() {
+        int[] oldSlots = this.slots;
+        int[] oldHashes = this.hashes;
+        this.slots = new int[oldSlots.length * 2];
+        this.hashes = new int[oldSlots.length * 2];
+        int mask = this.slots.length - 1;
+        for (int i = 0; i < oldSlots.length; i++) {
+            if (oldSlots[i] == 0) {
+                continue;
+            }
+            int slot = oldHashes[i] & mask;
+            while (this.slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            this.slots[slot] = oldSlots[i];
+            this.hashes[slot] = oldHashes[i];
+        }
+    }
+
+    private static boolean matches(byte[] spelling, MemorySegment source, long offset, int length) {
+        if (spelling.length != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (spelling[i] != source.get(ValueLayout.JAVA_BYTE, offset + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int hash(MemorySegment source, long offset, int length) {
+        int hash = length;
+        for (int i = 0; i < length; i++) {
+            hash = 31 * hash + source.get(ValueLayout.JAVA_BYTE, offset + i);
+        }
+        // spread the higher bits, the table only uses the lowest ones
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -0,0 +1,197 @@
+package edu.kit.kastel.vads.compiler.parser.visitor;
+
+import edu.kit.kastel.vads.compiler.parser.ast.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/// A visitor that runs several analyses at once, so a tree only has to be traversed a single time for all of them.
+/// Each analysis is visited with its own state, exactly as if it was run on its own:
+/// ```java
+/// tree.accept(new RecursivePostorderVisitor<>(new CombinedVisitor()
+///     .add(new FirstAnalysis(), firstState)
+///     .add(new SecondAnalysis(), secondState)), Unit.INSTANCE);
+/// ```
+/// Each node is passed to the analyses in the order they were added, before the traversal moves on.
+/// An analysis that recurses into the children of a node on its own still does so with itself, not with the others.
+public final class CombinedVisitor implements Visitor<Unit, Unit> {
+    // analyses and states are stored untyped, each state belongs to the analysis at the same index
+    private final List<NoOpVisitor<Object>> analyses = new ArrayList<>();
+    private final List<Object> states = new ArrayList<>();
+
+    /// Adds an analysis that is visited with the given state.
+    @SuppressWarnings("unchecked")
+    public <T> CombinedVisitor add(NoOpVisitor<T> analysis, T state) {
+        this.analyses.add((NoOpVisitor<Object>) analysis);
+        this.states.add(state);
+        return this;
+    }
+
+    @Override
+    public Unit visit(AssignmentTree assignmentTree, Unit data) {
+        for (int i = 0; i < this.analyses.size(); i++) {
+            this.analyses.get(i).visit(assignmentTree, this.states.get(i));
+        }
+        return Unit.INSTANCE;
+    }
+
+    @Override
+    public Unit visit(BinaryOperationTree binaryOperationTree, Unit data) {
+        for (int i = 0; i < this.analyses.size(); i++) {
+            this.analyses.get(i).visit(binaryOperationTree, this.states.get(i));
+        }
+        return Unit.INSTANCE;
+    }
+
+    @Override
+    public Unit visit(BlockTree blockTree, Unit data) {
+        for (int i = 0; i < this.analyses.size(); i++) {
+            this.analyses.get(i).visit(blockTree, this.states.get(i));
+        }
+        return Unit.INSTANCE;
+    }
+
+    @Override
+    public Unit visit(DeclarationTree declarationTree, Unit data) {
+        for (int i = 0; i < this.analyses.size(); i++) {
+            this.analyses.get(i).visit(declarationTree, this.states.get(i));
+        }
+        return Unit.INSTANCE;
+    }
+
+    @Override
+    public Unit visit(FunctionTree functionTree, Unit data) {
+        for (int i = 0; i < this.analyses.size(); i++) {
+            this.analyses.get(i).visit(functionTree, this.states.get(i));
+        }
+        return Unit.INSTANCE;
+    }
+
+    @Override
+    public Unit visit(IdentExpressionTree identExpressionTree, Unit data) {
+        for (int i = 0; i < this.analyses.size(); i++) {
+            this.analyses.get(i).visit(identExpressionTree, this.states.get(i));
+        }
+        return Unit.INSTANCE;
+    }
+
+    @Override
+    public Unit visit(LiteralTree literalTree, Unit data) {
+        for (int i = 0; i < this.analyses.size(); i++) {
+            this.analyses.get(i).visit(literalTree, this.states.get(i));
+        }
+        return Unit.INSTANCE;
+    }
+
+    @Override
+    public Unit visit(BoolLiteralTree boolLiteralTree, Unit data) {
+        for (int i = 0; i < this.analyses.size(); i++) {
+            this.analyses.get(i).visit(boolLiteralTree, this.states.get(i));
+        }
+        return Unit.INSTANCE;
+    }
+
+    @Override
+    public Unit visit(LValueIdentTree lValueIdentTree, Unit data) {
+        for (int i = 0; i < this.analyses.size(); i++) {
+            this.analyses.get(i).visit(lValueIdentTree, this.states.get(i));
+        }
+        return Unit.INSTANCE;
+    }
+
+    @Override
+    public Unit visit(NameTree nameTree, Unit data) {
+        for (int i = 0; i < this.analyses.size(); i++) {
+            this.analyses.get(i).visit(nameTree, this.states.get(i));
+        }
+        return Unit.INSTANCE;
+    }
+
+    @Override
+    public Unit visit(NegateTree negateTree, Unit data) {
+        for (int i = 0; i < this.analyses.size(); i++) {
+            this.analyses.get(i).visit(negateTree, this.states.get(i));
+        }
+        return Unit.INSTANCE;
+    }
+
+    @Override
+    public Unit visit(ProgramTree programTree, Unit data) {
+        for (int i = 0; i < this.analyses.size(); i++) {
+            this.analyses.get(i).visit(programTree, this.states.get(i));
+        }
+        return Unit.INSTANCE;
+    }
+
+    @Override
+    public Unit visit(ReturnTree returnTree, Unit data) {
+        for (int i = 0; i < this.analyses.size(); i++) {
+            this.analyses.get(i).visit(returnTree, this.states.get(i));
+        }
+        return Unit.INSTANCE;
+    }
+
+    @Override
+    public Unit visit(TypeTree typeTree, Unit data) {
+        for (int i = 0; i < this.analyses.size(); i++) {
+            this.analyses.get(i).visit(typeTree, this.states.get(i));
+        }
+        return Unit.INSTANCE;
+    }
+
+    @Override
+    public Unit visit(WhileTree whileTree, Unit data) {
+        for (int i = 0; i < this.analyses.size(); i++) {
+            this.analyses.get(i).visit(whileTree, this.states.get(i));
+        }
+        return Unit.INSTANCE;
+    }
+
+    @Override
+    public Unit visit(BreakTree breakTree, Unit data) {
+        for (int i = 0; i < this.analyses.size(); i++) {
+            this.analyses.get(i).visit(breakTree, this.states.get(i));
+        }
+        return Unit.INSTANCE;
+    }
+
+    @Override
+    public Unit visit(IfTree ifTree, Unit data) {
+        for (int i = 0; i < this.analyses.size(); i++) {
+            this.analyses.get(i).visit(ifTree, this.states.get(i));
+        }
+        return Unit.INSTANCE;
+    }
+
+    @Override
+    public Unit visit(ForTree forTree, Unit data) {
+        for (int i = 0; i < this.analyses.size(); i++) {
+            this.analyses.get(i).visit(forTree, this.states.get(i));
+        }
+        return Unit.INSTANCE;
+    }
+
+    @Override
+    public Unit visit(ContinueTree continueTree, Unit data) {
+        for (int i = 0; i < this.analyses.size(); i++) {
+            this.analyses.get(i).visit(continueTree, this.states.get(i));
+        }
+        return Unit.INSTANCE;
+    }
+
+    @Override
+    public Unit visit(TernaryOperationTree ternaryOperationTree, Unit data) {
+        for (int i = 0; i < this.analyses.size(); i++) {
+            this.analyses.get(i).visit(ternaryOperationTree, this.states.get(i));
+        }
+        return Unit.INSTANCE;
+    }
+
+    @Override
+    public Unit visit(LogicalNotTree logicalNotTree, Unit data) {
+        for (int i = 0; i < this.analyses.size(); i++) {
+            this.analyses.get(i).visit(logicalNotTree, this.states.get(i));
+        }
+        return Unit.INSTANCE;
+    }
+}
@@ -1,56 +1,112 @@
 package edu.kit.kastel.vads.compiler.semantic;
 
 import edu.kit.kastel.vads.compiler.parser.ast.NameTree;
-import edu.kit.kastel.vads.compiler.parser.symbol.Name;
+import edu.kit.kastel.vads.compiler.parser.symbol.IdentName;
 import org.jspecify.annotations.Nullable;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Arrays;
 import java.util.function.BinaryOperator;
 
+/// Maps names to values in nested scopes.
+/// All scopes share flat arrays indexed by the [IdentName#id()] of a name, which hold the value of the
+/// innermost scope declaring the name, so a lookup does not depend on how deep the scopes are nested.
+/// Values that are shadowed by an inner scope are kept in an undo log and restored when the scope is left,
+/// so leaving a scope only costs as much as the changes made in it.
 public class Namespace<T> {
 
-    private final Map<Name, T> content;
-    private @Nullable Namespace<T> parent;
+    private @Nullable Object[] values = new Object[16];
+    // the depth of the scope each value belongs to, only valid if the value is not null
+    private int[] depths = new int[16];
+    private int depth;
 
-    public Namespace() {
-        this.content = new HashMap<>();
-        this.parent = null;
-    }
-
-    private Namespace(@Nullable Namespace<T> parent) {
-        this.content = new HashMap<>();
-        this.parent = parent;
-    }
+    // for each change, the id of the name and its value and depth before the change
+    private int[] undoNames = new int[16];
+    private @Nullable Object[] undoValues = new Object[16];
+    private int[] undoDepths = new int[16];
+    private int undoSize;
+    // the size of the undo log when each enclosing scope was entered
+    private int[] scopeStarts = new int[8];
 
     public void put(NameTree name, T value, BinaryOperator<T> merger) {
-        this.content.merge(name.name(), value, merger);
+        int id = id(name);
+        T existing = getInCurrentScope(id);
+        set(id, existing == null ? value : merger.apply(existing, value));
     }
 
     public void putInCurrentScope(NameTree name, T value) {
-        this.content.put(name.name(), value);
+        set(id(name), value);
     }
 
+    @SuppressWarnings("unchecked")
     public @Nullable T get(NameTree name) {
-        T value = this.content.get(name.name());
-        if (value != null) {
-            return value;
+        int id = id(name);
+        return id < this.values.length ? (T) this.values[id] : null;
+    }
+
+    public @Nullable T getInCurrentScope(NameTree name) {
+        return getInCurrentScope(id(name));
+    }
+
+    /// Enters a new scope nested into the current one, it must be left by [#exitScope()].
+    public void enterScope() {
+        if (this.depth == this.scopeStarts.length) {
+            this.scopeStarts = Arrays.copyOf(this.scopeStarts, this.depth * 2);
+        }
+        this.scopeStarts[this.depth++] = this.undoSize;
+    }
+
+    /// Leaves the current scope, restoring the values its declarations shadowed.
+    public void exitScope() {
+        int start = this.scopeStarts[--this.depth];
+        while (this.undoSize > start) {
+            this.undoSize--;
+            int id = this.undoNames[this.undoSize];
+            this.values[id] = this.undoValues[this.undoSize];
+            this.depths[id] = this.undoDepths[this.undoSize];
+            this.undoValues[this.undoSize] = null;
         }
-        if (this.parent != null) {
-            return this.parent.get(name);
+    }
+
+    @SuppressWarnings("unchecked")
+    private @Nullable T getInCurrentScope(int id) {
+        if (id >= this.values.length || this.depths[id] != this.depth) {
+            return null;
         }
-        return null;
+        return (T) this.values[id];
     }
 
-    public @Nullable T getInCurrentScope(NameTree name) {
-        return this.content.get(name.name());
+    private void set(int id, T value) {
+        if (id >= this.values.length) {
+            int length = Math.max(this.values.length * 2, id + 1);
+            this.values = Arrays.copyOf(this.values, length);
+            this.depths = Arrays.copyOf(this.depths, length);
+        }
+        // values of the current scope were logged when they were first set in it
+        if (this.values[id] == null || this.depths[id] != this.depth) {
+            log(id);
+        }
+        this.values[id] = value;
+        this.depths[id] = this.depth;
     }
 
-    public Namespace<T> enterScope() {
-        return new Namespace<>(this);
+    private void log(int id) {
+        if (this.undoSize == this.undoNames.length) {
+            int length = this.undoSize * 2;
+            this.undoNames = Arrays.copyOf(this.undoNames, length);
+            this.undoValues = Arrays.copyOf(this.undoValues, length);
+            this.undoDepths = Arrays.copyOf(this.undoDepths, length);
+        }
+        this.undoNames[this.undoSize] = id;
+        this.undoValues[this.undoSize] = this.values[id];
+        this.undoDepths[this.undoSize] = this.depths[id];
+        this.undoSize++;
     }
 
-    public @Nullable Namespace<T> exitScope() {
-        return this.parent;
+    /// {@return the id of the identifier the given name refers to}
+    static int id(NameTree name) {
+        if (!(name.name() instanceof IdentName identName)) {
+            throw new IllegalArgumentException(name.name().asString() + " is not an identifier");
+        }
+        return identName.id();
     }
-}
\ No newline at end of file
+}
@@ -1,7 +1,10 @@
 package edu.kit.kastel.vads.compiler.semantic;
 
+import edu.kit.kastel.vads.compiler.event.SemanticPassEvent;
 import edu.kit.kastel.vads.compiler.parser.ast.ProgramTree;
+import edu.kit.kastel.vads.compiler.parser.visitor.CombinedVisitor;
 import edu.kit.kastel.vads.compiler.parser.visitor.RecursivePostorderVisitor;
+import edu.kit.kastel.vads.compiler.parser.visitor.Unit;
 import edu.kit.kastel.vads.compiler.parser.Scope;
 
 public class SemanticAnalysis {
@@ -13,21 +16,30 @@ public class SemanticAnalysis {
     }
 
     public void analyze() {
-        this.program.accept(new RecursivePostorderVisitor<>(new IntegerLiteralRangeAnalysis()), new Namespace<>());
-        this.program.accept(new RecursivePostorderVisitor<>(new VariableStatusAnalysis()), new Namespace<>());
-        this.program.accept(new RecursivePostorderVisitor<>(new ReturnAnalysis()), new ReturnAnalysis.ReturnState());
+        Types types = new Types(this.program.treeCount());
+        // the postorder analyses share a single traversal, the first error of any of them is reported
+        CombinedVisitor analyses = new CombinedVisitor()
+            .add(new IntegerLiteralRangeAnalysis(), new Namespace<>())
+            .add(new VariableStatusAnalysis(), new Namespace<>())
+            .add(new ReturnAnalysis(), new ReturnAnalysis.ReturnState())
+            .add(new LoopAnalysis(), new LoopAnalysis.Loopy())
+            .add(new TypeAnalysis(), types);
+        pass("integer literal range, variable status, return, loop, type", () ->
+            this.program.accept(new RecursivePostorderVisitor<>(analyses), Unit.INSTANCE));
+        // not a postorder analysis, it descends on its own from the loops
+        pass("break", () -> this.program.accept(new BreakAnalysis(), new BreakAnalysis.LoopContext()));
+    }
 
-        int MAX_BLOCKS = this.program.scopes().size();
-        @SuppressWarnings("unchecked") // TODO
-        Namespace<TypeAnalysis.TYPES>[] namespaces = (Namespace<TypeAnalysis.TYPES>[]) new Namespace[MAX_BLOCKS];
-        for (int i = 0; i < MAX_BLOCKS; i++) {
-            namespaces[i] = new Namespace<>();
+    private void pass(String name, Runnable pass) {
+        SemanticPassEvent event = new SemanticPassEvent();
+        event.begin();
+        pass.run();
+        event.end();
+        if (event.shouldCommit()) {
+            event.pass = name;
+            event.astNodes = this.program.treeCount();
+            event.commit();
         }
-        Types types = new Types(namespaces);
-        this.program.accept(new BreakAnalysis(), new BreakAnalysis.LoopContext());
-        this.program.accept(new RecursivePostorderVisitor<>(new LoopAnalysis()), new LoopAnalysis.Loopy());
-        this.program.accept(new RecursivePostorderVisitor<>(new TypeAnalysis()), types);
-
     }
 
 }
@@ -202,12 +202,7 @@ public class TypeAnalysis implements NoOpVisitor<Types> {
 
     @Override
     public Unit visit(IdentExpressionTree identExpr, Types data) {
-        TYPES type = null;
-        int currentScope = identExpr.block();
-        while (currentScope >= 0 && type == null) {
-            type = data.get(identExpr.name(), currentScope);
-            currentScope--;
-        }
+        TYPES type = data.getVisible(identExpr.name(), identExpr.block());
         if (type == null) {
             throw new SemanticException("Variable " + identExpr.name() + " is not declared in any accessible scope (at " + identExpr.span() + ")");
         }
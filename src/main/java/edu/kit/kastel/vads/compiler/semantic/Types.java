@@ -2,30 +2,92 @@ package edu.kit.kastel.vads.compiler.semantic;
 
 import edu.kit.kastel.vads.compiler.parser.ast.NameTree;
 import edu.kit.kastel.vads.compiler.parser.ast.Tree;
-import java.util.HashMap;
+
+import java.util.Arrays;
 
 /**
  * Manages the mapping between AST nodes (Tree or NameTree) and their corresponding types.
- * Supports different scopes using an array of Namespace objects.
+ * The types of trees are stored in an array indexed by the id of the tree, so looking them up
+ * does not hash the whole subtree like a map keyed on the trees would.
+ * Names are declared in the scopes the parser numbered. For each name, the scopes declaring it are
+ * kept in a list indexed by the id of the name, which is usually just a single entry.
  */
 public class Types {
 
-    private final HashMap<Tree, TypeAnalysis.TYPES> nodeTypeMap = new HashMap<>();
+    private static final TypeAnalysis.TYPES[] VALUES = TypeAnalysis.TYPES.values();
+    private static final int[] NO_DECLARATIONS = new int[0];
+
+    // the ordinal of the type plus one, zero for trees without a type
+    private final byte[] nodeTypes;
 
-    private final Namespace<TypeAnalysis.TYPES>[] scopedNamespaces;
-    public Types(Namespace<TypeAnalysis.TYPES>[] namespaces) {
-        this.scopedNamespaces = namespaces;
+    // per name id, the declarations as scope * VALUES.length + ordinal of the type
+    private int[][] declarations = new int[16][];
+    private int[] declarationCounts = new int[16];
+
+    public Types(int treeCount) {
+        this.nodeTypes = new byte[treeCount];
+        Arrays.fill(this.declarations, NO_DECLARATIONS);
     }
     public TypeAnalysis.TYPES get(Tree tree) {
-        return nodeTypeMap.get(tree);
+        int type = nodeTypes[tree.id()];
+        return type == 0 ? null : VALUES[type - 1];
     }
+    /// {@return the type of the name declared in exactly the given scope}
     public TypeAnalysis.TYPES get(NameTree name, int scope) {
-        return scopedNamespaces[scope].get(name);
+        int index = find(Namespace.id(name), scope, false);
+        return index < 0 ? null : type(declarations[Namespace.id(name)][index]);
+    }
+    /// {@return the type of the name declared in the given scope or the closest scope with a lower number}
+    public TypeAnalysis.TYPES getVisible(NameTree name, int scope) {
+        int index = find(Namespace.id(name), scope, true);
+        return index < 0 ? null : type(declarations[Namespace.id(name)][index]);
     }
     public void put(Tree tree, TypeAnalysis.TYPES type) {
-        nodeTypeMap.put(tree, type);
+        nodeTypes[tree.id()] = (byte) (type.ordinal() + 1);
     }
     public void put(NameTree name, TypeAnalysis.TYPES type, int scope) {
-        scopedNamespaces[scope].put(name, type, (oldName, currentName) -> currentName);
+        int id = Namespace.id(name);
+        int index = find(id, scope, false);
+        if (index >= 0) {
+            declarations[id][index] = scope * VALUES.length + type.ordinal();
+            return;
+        }
+        if (id >= declarations.length) {
+            int length = Math.max(declarations.length * 2, id + 1);
+            int oldLength = declarations.length;
+            declarations = Arrays.copyOf(declarations, length);
+            declarationCounts = Arrays.copyOf(declarationCounts, length);
+            Arrays.fill(declarations, oldLength, length, NO_DECLARATIONS);
+        }
+        int count = declarationCounts[id];
+        if (count == declarations[id].length) {
+            declarations[id] = Arrays.copyOf(declarations[id], Math.max(1, count * 2));
+        }
+        declarations[id][count] = scope * VALUES.length + type.ordinal();
+        declarationCounts[id] = count + 1;
+    }
+
+    /// {@return the index of the declaration in the given scope, or in the closest lower scope if `orLower`,
+    /// or `-1` if there is none}
+    private int find(int id, int scope, boolean orLower) {
+        if (id >= declarations.length) {
+            return -1;
+        }
+        int[] scopes = declarations[id];
+        int best = -1;
+        for (int i = 0; i < declarationCounts[id]; i++) {
+            int declared = scopes[i] / VALUES.length;
+            if (declared == scope) {
+                return i;
+            }
+            if (orLower && declared < scope && (best < 0 || declared > scopes[best] / VALUES.length)) {
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    private static TypeAnalysis.TYPES type(int declaration) {
+        return VALUES[declaration % VALUES.length];
     }
 }
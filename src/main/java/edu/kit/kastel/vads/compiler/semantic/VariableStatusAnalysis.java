@@ -18,7 +18,7 @@ class VariableStatusAnalysis implements NoOpVisitor<Namespace<VariableStatusAnal
     @Override
     public Unit visit(AssignmentTree assignmentTree, Namespace<VariableStatus> data) {
         switch (assignmentTree.lValue()) {
-            case LValueIdentTree(var name) -> {
+            case LValueIdentTree(var name, _) -> {
                 VariableStatus status = data.get(name);
                 if (assignmentTree.operator().type() == Operator.OperatorType.ASSIGN) {
                     checkDeclared(name, status);
@@ -94,50 +94,50 @@ class VariableStatusAnalysis implements NoOpVisitor<Namespace<VariableStatusAnal
 
     @Override
     public Unit visit(ForTree forLoopTree, Namespace<VariableStatus> scope) {
-        Namespace<VariableStatus> loopScope = scope.enterScope();
+        scope.enterScope();
 
         if (forLoopTree.init() != null) {
-            forLoopTree.init().accept(this, loopScope);
+            forLoopTree.init().accept(this, scope);
         }
 
         if (forLoopTree.condition() != null) {
-            forLoopTree.condition().accept(this, loopScope);
+            forLoopTree.condition().accept(this, scope);
         }
 
         if (forLoopTree.body() != null) {
-            forLoopTree.body().accept(this, loopScope);
+            forLoopTree.body().accept(this, scope);
         }
 
         if (forLoopTree.update() != null) {
-            forLoopTree.update().accept(this, loopScope);
+            forLoopTree.update().accept(this, scope);
         }
 
-        Namespace<VariableStatus> parentScope = loopScope.exitScope();
+        scope.exitScope();
 
         return Unit.INSTANCE;
     }
 
-
-
     @Override
     public Unit visit(BlockTree blockTree, Namespace<VariableStatus> data) {
-        Namespace<VariableStatus> newScope = data.enterScope();
+        data.enterScope();
 
         for (var statement : blockTree.statements()) {
-            statement.accept(this, newScope);
+            statement.accept(this, data);
         }
 
+        data.exitScope();
         return Unit.INSTANCE;
     }
 
     @Override
     public Unit visit(WhileTree whileTree, Namespace<VariableStatus> data) {
-        Namespace<VariableStatus> newScope = data.enterScope();
+        data.enterScope();
 
-        whileTree.condition().accept(this, newScope);
+        whileTree.condition().accept(this, data);
 
-        whileTree.body().accept(this, newScope);
+        whileTree.body().accept(this, data);
 
+        data.exitScope();
         return Unit.INSTANCE;
     }
 
@@ -145,12 +145,14 @@ class VariableStatusAnalysis implements NoOpVisitor<Namespace<VariableStatusAnal
     public Unit visit(IfTree ifTree, Namespace<VariableStatus> data) {
         ifTree.condition().accept(this, data);
 
-        Namespace<VariableStatus> thenScope = data.enterScope();
-        ifTree.thenBranch().accept(this, thenScope);
+        data.enterScope();
+        ifTree.thenBranch().accept(this, data);
+        data.exitScope();
 
         if (ifTree.elseBranch() != null) {
-            Namespace<VariableStatus> elseScope = data.enterScope();
-            ifTree.elseBranch().accept(this, elseScope);
+            data.enterScope();
+            ifTree.elseBranch().accept(this, data);
+            data.exitScope();
         }
 
         return Unit.INSTANCE;
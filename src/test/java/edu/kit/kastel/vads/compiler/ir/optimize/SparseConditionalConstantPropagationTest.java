@@ -0,0 +1,63 @@
+package edu.kit.kastel.vads.compiler.ir.optimize;
+
+import edu.kit.kastel.vads.compiler.ir.IrGraph;
+import edu.kit.kastel.vads.compiler.ir.SsaTranslation;
+import edu.kit.kastel.vads.compiler.ir.node.IfNode;
+import edu.kit.kastel.vads.compiler.ir.node.ProjNode;
+import edu.kit.kastel.vads.compiler.ir.util.NodeSupport;
+import edu.kit.kastel.vads.compiler.lexer.Lexer;
+import edu.kit.kastel.vads.compiler.parser.Parser;
+import edu.kit.kastel.vads.compiler.parser.TokenSource;
+import edu.kit.kastel.vads.compiler.parser.ast.ProgramTree;
+import edu.kit.kastel.vads.compiler.semantic.SemanticAnalysis;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SparseConditionalConstantPropagationTest {
+
+    @Test
+    void conditionalExpressionWithFoldedCondition() {
+        IrGraph graph = translate("""
+            int main() {
+              int a = 5;
+              int b = 7 % (a - 5);
+              bool c = (a > 3) ? b > 1 : false;
+              if (c) { return 1; }
+              return 0;
+            }
+            """);
+        assertTrue(new SparseConditionalConstantPropagation().run(graph) > 0);
+        assertEquals(0, conditionalExpressions(graph), "the branch that is taken is selected");
+    }
+
+    @Test
+    void logicalOperatorsWithFoldedOperands() {
+        IrGraph graph = translate("""
+            int main() {
+              int a = 5;
+              int b = 7 % (a - 5);
+              bool c = (a > a || 1 > b) || b != 3;
+              if (c) { return 1; }
+              return 0;
+            }
+            """);
+        assertTrue(new SparseConditionalConstantPropagation().run(graph) > 0);
+    }
+
+    /// {@return the number of result projections of [IfNode]s left in the graph}
+    private static long conditionalExpressions(IrGraph graph) {
+        return NodeSupport.inputsFirst(graph).stream()
+            .filter(node -> node instanceof ProjNode proj
+                && proj.projectionInfo() == ProjNode.SimpleProjectionInfo.RESULT
+                && proj.predecessor(ProjNode.IN) instanceof IfNode)
+            .count();
+    }
+
+    private static IrGraph translate(String source) {
+        ProgramTree program = new Parser(new TokenSource(Lexer.forString(source))).parseProgram();
+        new SemanticAnalysis(program).analyze();
+        return new SsaTranslation(program.topLevelTrees().getFirst(), new LocalValueNumbering()).translate();
+    }
+}
@@ -0,0 +1,166 @@
+package edu.kit.kastel.vads.compiler.ir.optimize;
+
+import edu.kit.kastel.vads.compiler.ir.IrGraph;
+import edu.kit.kastel.vads.compiler.ir.node.AddNode;
+import edu.kit.kastel.vads.compiler.ir.node.ArithmeticShiftRightNode;
+import edu.kit.kastel.vads.compiler.ir.node.BitwiseAndNode;
+import edu.kit.kastel.vads.compiler.ir.node.Block;
+import edu.kit.kastel.vads.compiler.ir.node.ConstIntNode;
+import edu.kit.kastel.vads.compiler.ir.node.DivNode;
+import edu.kit.kastel.vads.compiler.ir.node.ModNode;
+import edu.kit.kastel.vads.compiler.ir.node.MulHighNode;
+import edu.kit.kastel.vads.compiler.ir.node.MulNode;
+import edu.kit.kastel.vads.compiler.ir.node.Node;
+import edu.kit.kastel.vads.compiler.ir.node.ProjNode;
+import edu.kit.kastel.vads.compiler.ir.node.ReturnNode;
+import edu.kit.kastel.vads.compiler.ir.node.ShiftLeftNode;
+import edu.kit.kastel.vads.compiler.ir.node.ShiftRightNode;
+import edu.kit.kastel.vads.compiler.ir.node.StartNode;
+import edu.kit.kastel.vads.compiler.ir.node.SubNode;
+import edu.kit.kastel.vads.compiler.ir.util.NodeSupport;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.BiFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class StrengthReductionTest {
+    private static final int[] DIVISORS = {
+        1, 2, 3, 5, 6, 7, 9, 10, 11, 12, 13, 25, 100, 125, 641, 1000, 7919, 12345, 65536, 1 << 30,
+        (1 << 29) | 1, 0x3333_3333, 0x5555_5555, 1_000_000_007, Integer.MAX_VALUE - 1, Integer.MAX_VALUE,
+        -2, -3, -5, -6, -7, -10, -100, -641, -1024, -7919, -(1 << 30), -1_000_000_007, -Integer.MAX_VALUE,
+        Integer.MIN_VALUE,
+    };
+    private static final int[] FACTORS = {
+        0, 1, -1, 2, 3, 5, 7, 9, 15, 17, 31, 33, -2, -3, 1 << 30, (1 << 30) + 1, (1 << 30) - 1,
+        Integer.MAX_VALUE, Integer.MIN_VALUE,
+    };
+
+    @Test
+    void divisionAndRemainderMatchJava() {
+        for (int divisor : DIVISORS) {
+            for (int dividend : dividends(divisor)) {
+                assertEquals(dividend / divisor, reduce(dividend, divisor, DivNode::new),
+                    dividend + " / " + divisor);
+                assertEquals(dividend % divisor, reduce(dividend, divisor, ModNode::new),
+                    dividend + " % " + divisor);
+            }
+        }
+    }
+
+    @Test
+    void multiplicationMatchesJava() {
+        for (int factor : FACTORS) {
+            for (int x : dividends(factor)) {
+                IrGraph graph = new IrGraph("mul");
+                Block start = graph.startBlock();
+                Node mul = new MulNode(start, new ConstIntNode(start, x), new ConstIntNode(start, factor));
+                Node result = returnValue(graph, mul);
+                new StrengthReduction().run(graph);
+                assertEquals(x * factor, evaluate(result.predecessor(ReturnNode.RESULT)), x + " * " + factor);
+            }
+        }
+    }
+
+    @Test
+    void divisionsThatCanTrapAreKept() {
+        for (int divisor : new int[] {0, -1}) {
+            IrGraph graph = new IrGraph("trap");
+            Block start = graph.startBlock();
+            Node sideEffect = new ProjNode(start, new StartNode(start), ProjNode.SimpleProjectionInfo.SIDE_EFFECT);
+            Node div = new DivNode(start, new ConstIntNode(start, Integer.MIN_VALUE),
+                new ConstIntNode(start, divisor), sideEffect);
+            Node result = returnValue(graph, new ProjNode(start, div, ProjNode.SimpleProjectionInfo.RESULT));
+
+            assertEquals(0, new StrengthReduction().run(graph));
+            assertSame(div, result.predecessor(ReturnNode.RESULT).predecessor(ProjNode.IN));
+        }
+    }
+
+    @Test
+    void quotientIsSharedByDivisionAndRemainder() {
+        IrGraph graph = new IrGraph("shared");
+        Block start = graph.startBlock();
+        Node sideEffect = new ProjNode(start, new StartNode(start), ProjNode.SimpleProjectionInfo.SIDE_EFFECT);
+        Node x = new ConstIntNode(start, 1234);
+        Node seven = new ConstIntNode(start, 7);
+        Node div = new DivNode(start, x, seven, sideEffect);
+        Node mod = new ModNode(start, x, seven, new ProjNode(start, div, ProjNode.SimpleProjectionInfo.SIDE_EFFECT));
+        Node sum = new AddNode(start, new ProjNode(start, div, ProjNode.SimpleProjectionInfo.RESULT),
+            new ProjNode(start, mod, ProjNode.SimpleProjectionInfo.RESULT));
+        Node result = returnValue(graph, sum, new ProjNode(start, mod, ProjNode.SimpleProjectionInfo.SIDE_EFFECT));
+
+        assertEquals(2, new StrengthReduction().run(graph));
+        assertEquals(1234 / 7 + 1234 % 7, evaluate(result.predecessor(ReturnNode.RESULT)));
+        // the side effects of both divisions are bypassed
+        assertSame(sideEffect, result.predecessor(ReturnNode.SIDE_EFFECT));
+        long mulHighs = NodeSupport.inputsFirst(graph).stream().filter(MulHighNode.class::isInstance).count();
+        assertEquals(1, mulHighs);
+    }
+
+    /// {@return the value of the division or remainder of the constants after strength reduction}
+    private static int reduce(int dividend, int divisor, DivModFactory factory) {
+        IrGraph graph = new IrGraph("divMod");
+        Block start = graph.startBlock();
+        Node sideEffect = new ProjNode(start, new StartNode(start), ProjNode.SimpleProjectionInfo.SIDE_EFFECT);
+        Node divMod = factory.create(start, new ConstIntNode(start, dividend), new ConstIntNode(start, divisor),
+            sideEffect);
+        Node result = returnValue(graph, new ProjNode(start, divMod, ProjNode.SimpleProjectionInfo.RESULT),
+            new ProjNode(start, divMod, ProjNode.SimpleProjectionInfo.SIDE_EFFECT));
+
+        assertEquals(1, new StrengthReduction().run(graph), dividend + " by " + divisor + " is reduced");
+        assertSame(sideEffect, result.predecessor(ReturnNode.SIDE_EFFECT));
+        return evaluate(result.predecessor(ReturnNode.RESULT));
+    }
+
+    private static Node returnValue(IrGraph graph, Node value) {
+        Block start = graph.startBlock();
+        Node sideEffect = new ProjNode(start, new StartNode(start), ProjNode.SimpleProjectionInfo.SIDE_EFFECT);
+        return returnValue(graph, value, sideEffect);
+    }
+
+    private static Node returnValue(IrGraph graph, Node value, Node sideEffect) {
+        Node ret = new ReturnNode(graph.startBlock(), sideEffect, value);
+        graph.endBlock().addPredecessor(ret);
+        return ret;
+    }
+
+    /// {@return the boundary values around zero, the limits and the divisor, and a few random ones}
+    private static List<Integer> dividends(int divisor) {
+        List<Integer> dividends = new ArrayList<>(List.of(
+            0, 1, -1, 2, -2, 3, -3, Integer.MAX_VALUE, Integer.MAX_VALUE - 1, Integer.MIN_VALUE, Integer.MIN_VALUE + 1,
+            divisor, divisor - 1, divisor + 1, -divisor, 2 * divisor, 3 * divisor - 1, -3 * divisor + 1));
+        Random random = new Random(divisor);
+        for (int i = 0; i < 200; i++) {
+            dividends.add(random.nextInt());
+        }
+        return dividends;
+    }
+
+    private static int evaluate(Node node) {
+        return switch (node) {
+            case ConstIntNode c -> c.value();
+            case AddNode _ -> binary(node, Integer::sum);
+            case SubNode _ -> binary(node, (a, b) -> a - b);
+            case MulNode _ -> binary(node, (a, b) -> a * b);
+            case MulHighNode _ -> binary(node, (a, b) -> (int) (((long) a * b) >> 32));
+            case BitwiseAndNode _ -> binary(node, (a, b) -> a & b);
+            case ShiftLeftNode _ -> binary(node, (a, b) -> a << b);
+            case ShiftRightNode _ -> binary(node, (a, b) -> a >>> b);
+            case ArithmeticShiftRightNode _ -> binary(node, (a, b) -> a >> b);
+            default -> throw new AssertionError("unexpected node " + node);
+        };
+    }
+
+    private static int binary(Node node, BiFunction<Integer, Integer, Integer> operation) {
+        return operation.apply(evaluate(node.predecessor(0)), evaluate(node.predecessor(1)));
+    }
+
+    private interface DivModFactory {
+        Node create(Block block, Node left, Node right, Node sideEffect);
+    }
+}